@@ -0,0 +1,68 @@
+package com.taskflow.menuscraper.benchmarks;
+
+import com.taskflow.menuscraper.MenuScraperApplication;
+import com.taskflow.menuscraper.service.RestaurantCache;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+
+// Starts the application context (without the web server) against an in-process
+// PostgreSQL, or against the database given by -Dbenchmark.jdbc-url
+final class BenchmarkApplication implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    static BenchmarkApplication start() throws IOException {
+        String jdbcUrl = System.getProperty("benchmark.jdbc-url");
+        String username = System.getProperty("benchmark.jdbc-username", "postgres");
+        String password = System.getProperty("benchmark.jdbc-password", "postgres");
+
+        EmbeddedPostgres postgres = null;
+        if (jdbcUrl == null) {
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        }
+
+        // Passed as command line arguments, since default properties lose to application.yml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MenuScraperApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+
+        return new BenchmarkApplication(postgres, context);
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // Empties the tables ingest writes to, and the restaurant cache that would otherwise hand
+    // out IDs of deleted restaurants, so every iteration starts from the same database
+    void resetData() {
+        getBean(JdbcTemplate.class).execute(
+                "TRUNCATE menu_items, price_observations, menu_item_keys, restaurant_snapshots, restaurants");
+        getBean(RestaurantCache.class).clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.taskflow.menuscraper.benchmarks;
+
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import com.taskflow.menuscraper.dto.MenuItemResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+final class BenchmarkData {
+
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "chf", " huf "};
+
+    private BenchmarkData() {}
+
+    // Deterministic scrape-like items spread over the given number of restaurants
+    static List<MenuItemRequest> menuItems(int count, int restaurants, long seed) {
+        Random random = new Random(seed);
+        List<MenuItemRequest> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int restaurant = i % restaurants;
+            MenuItemRequest item = new MenuItemRequest();
+            item.setRestaurantName("Benchmark Restaurant " + restaurant);
+            item.setSourceUrl("https://benchmark-" + seed + "-" + restaurant + ".example.com/menu");
+            item.setName("Dish " + i);
+            item.setDescription("Freshly prepared dish number " + i + " with seasonal ingredients");
+            item.setPrice(BigDecimal.valueOf(100 + random.nextInt(5000), 2));
+            item.setCurrency(CURRENCIES[random.nextInt(CURRENCIES.length)]);
+            items.add(item);
+        }
+        return items;
+    }
+
+    static List<MenuItemResponse> menuItemResponses(int count, int restaurants, long seed) {
+        LocalDateTime scrapedAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<MenuItemResponse> responses = new ArrayList<>(count);
+        for (MenuItemRequest item : menuItems(count, restaurants, seed)) {
+            responses.add(new MenuItemResponse(UUID.randomUUID(), item.getRestaurantName(), item.getSourceUrl(),
+                    item.getName(), item.getDescription(), item.getPrice(), item.getCurrency().trim().toUpperCase(),
+                    scrapedAt));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,115 @@
+package com.taskflow.menuscraper.benchmarks;
+
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import com.taskflow.menuscraper.service.MenuItemService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Several scrapers posting at once. With overlap=shared every thread writes the same
+// restaurants, which are new in each round and listed in a different order per thread, so
+// batches race on creating them and on their item keys; with overlap=disjoint each thread
+// has its own restaurants. The "aborted" counter reports batches that failed (unique
+// violations, deadlocks) and is expected to stay at zero.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(8)
+@Fork(3)
+public class ConcurrentIngestBenchmark {
+
+    @Param({"100"})
+    private int batchSize;
+
+    @Param({"10"})
+    private int restaurants;
+
+    @Param({"shared", "disjoint"})
+    private String overlap;
+
+    @Param({"append", "upsert"})
+    private String mode;
+
+    private BenchmarkApplication application;
+    private MenuItemService menuItemService;
+
+    @Setup
+    public void setUp() throws Exception {
+        application = BenchmarkApplication.start();
+        menuItemService = application.getBean(MenuItemService.class);
+    }
+
+    // Otherwise every iteration writes into a larger table than the one before
+    @Setup(Level.Iteration)
+    public void resetData() {
+        application.resetData();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        application.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Scraper {
+
+        private int threadIndex;
+        private int round;
+        List<MenuItemRequest> batch;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams threadParams) {
+            threadIndex = threadParams.getThreadIndex();
+        }
+
+        // Building the batch is not part of the measured time
+        @Setup(Level.Invocation)
+        public void nextBatch(ConcurrentIngestBenchmark benchmark) {
+            long seed = "shared".equals(benchmark.overlap) ? round : threadIndex * 1_000_000L + round;
+            round++;
+            batch = BenchmarkData.menuItems(benchmark.batchSize, benchmark.restaurants, seed);
+            Collections.rotate(batch, threadIndex);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+
+        public long saved;
+        public long aborted;
+    }
+
+    @Benchmark
+    public void ingest(Scraper scraper, Outcomes outcomes) {
+        try {
+            if ("upsert".equals(mode)) {
+                menuItemService.upsertBatch(scraper.batch);
+            } else {
+                menuItemService.saveBatch(scraper.batch);
+            }
+            outcomes.saved++;
+        } catch (RuntimeException e) {
+            outcomes.aborted++;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskflow.menuscraper.benchmarks;
+
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import com.taskflow.menuscraper.entity.MenuItem;
+import com.taskflow.menuscraper.entity.Restaurant;
+import com.taskflow.menuscraper.repository.MenuItemRepository;
+import com.taskflow.menuscraper.repository.RestaurantRepository;
+import com.taskflow.menuscraper.service.MenuItemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One operation is one batch of batchSize items, so items/s = score * batchSize.
+// "bulk" is saveBatch; "perItem" is saveBatch as it was before the set-based ingest path:
+// one restaurant lookup (and insert or rename) plus one entity save per item, in a single
+// transaction.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(3)
+public class IngestBenchmark {
+
+    @Param({"100", "1000"})
+    private int batchSize;
+
+    @Param({"10"})
+    private int restaurants;
+
+    @Param({"bulk", "perItem"})
+    private String path;
+
+    private BenchmarkApplication application;
+    private MenuItemService menuItemService;
+    private RestaurantRepository restaurantRepository;
+    private MenuItemRepository menuItemRepository;
+    private TransactionTemplate transactionTemplate;
+    private List<MenuItemRequest> batch;
+
+    @Setup
+    public void setUp() throws Exception {
+        application = BenchmarkApplication.start();
+        menuItemService = application.getBean(MenuItemService.class);
+        restaurantRepository = application.getBean(RestaurantRepository.class);
+        menuItemRepository = application.getBean(MenuItemRepository.class);
+        transactionTemplate = new TransactionTemplate(application.getBean(PlatformTransactionManager.class));
+        batch = BenchmarkData.menuItems(batchSize, restaurants, 42);
+    }
+
+    // Otherwise every iteration writes into a larger table than the one before
+    @Setup(Level.Iteration)
+    public void resetData() {
+        application.resetData();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        application.close();
+    }
+
+    @Benchmark
+    public int saveBatch() {
+        if ("bulk".equals(path)) {
+            return menuItemService.saveBatch(batch);
+        }
+        return transactionTemplate.execute(status -> {
+            for (MenuItemRequest item : batch) {
+                menuItemService.normalizeAndValidate(item);
+                saveMenuItemPerItem(item);
+            }
+            return batch.size();
+        });
+    }
+
+    private void saveMenuItemPerItem(MenuItemRequest request) {
+        Restaurant restaurant = restaurantRepository.findBySourceUrl(request.getSourceUrl())
+                .orElseGet(() -> restaurantRepository.save(
+                        new Restaurant(request.getRestaurantName(), request.getSourceUrl())));
+        if (!restaurant.getName().equals(request.getRestaurantName())) {
+            restaurant.setName(request.getRestaurantName());
+            restaurantRepository.save(restaurant);
+        }
+
+        MenuItem menuItem = new MenuItem();
+        menuItem.setRestaurant(restaurant);
+        menuItem.setName(request.getName());
+        menuItem.setDescription(request.getDescription());
+        menuItem.setPrice(request.getPrice());
+        menuItem.setCurrency(request.getCurrency());
+        menuItemRepository.save(menuItem);
+    }
+}
@@ -0,0 +1,118 @@
+package com.taskflow.menuscraper.benchmarks;
+
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import com.taskflow.menuscraper.service.ValidationService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// One operation validates 10,000 items, so the score is the time per 10k items. Run with
+// -prof gc for allocation: gc.alloc.rate.norm is then bytes per 10k items.
+// "precompiled" is ValidationService as used by ingest; "beanValidation" is what ingest did
+// before: Bean Validation of the item (the @Validated proxy) plus the business rules.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final int ITEMS = 10_000;
+
+    private final ValidationService validationService = new ValidationService();
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private MenuItemRequest[] items;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        List<MenuItemRequest> generated = BenchmarkData.menuItems(ITEMS, 16, 42);
+        for (MenuItemRequest item : generated) {
+            item.setCurrency(item.getCurrency().toUpperCase().trim());
+        }
+        items = generated.toArray(new MenuItemRequest[0]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public int precompiled() {
+        for (MenuItemRequest item : items) {
+            validationService.validateMenuItem(item);
+        }
+        return items.length;
+    }
+
+    @Benchmark
+    public int beanValidation() {
+        for (MenuItemRequest item : items) {
+            Set<ConstraintViolation<MenuItemRequest>> violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+            previousBusinessRules(item);
+        }
+        return items.length;
+    }
+
+    // The ISO 4217 check alone, as it was done before the lookup table
+    @Benchmark
+    public int currencyGetInstance() {
+        int valid = 0;
+        for (MenuItemRequest item : items) {
+            try {
+                Currency.getInstance(item.getCurrency().toUpperCase().trim());
+                valid++;
+            } catch (IllegalArgumentException e) {
+                // Not counted
+            }
+        }
+        return valid;
+    }
+
+    // ValidationService's business rules as they were before the precompiled validator
+    private static void previousBusinessRules(MenuItemRequest request) {
+        if (request.getPrice().compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Price must be non-negative");
+        }
+        if (request.getPrice().scale() > 2) {
+            throw new IllegalArgumentException("Price must have at most 2 decimal places");
+        }
+        String currency = request.getCurrency();
+        if (currency == null || currency.trim().isEmpty()) {
+            throw new IllegalArgumentException("Currency code is required");
+        }
+        String normalizedCurrency = currency.toUpperCase().trim();
+        try {
+            Currency.getInstance(normalizedCurrency);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid currency code: " + normalizedCurrency);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.taskflow.menuscraper.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Mixed ingest and query load against a locally started application (or --base-url). Each
+// ingest thread posts synthetic scrapes back to back, each query thread sends list, page and
+// price range queries for the generated restaurants. This is a closed loop: a thread sends
+// its next request when the previous one has completed, so the latencies are service times
+// at the given concurrency, and throughput is what that concurrency achieves.
+public final class LoadTest {
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final OperationStats ingest = new OperationStats("ingest");
+    private final OperationStats restaurantQuery = new OperationStats("query.restaurant");
+    private final OperationStats pageQuery = new OperationStats("query.page");
+    private final OperationStats priceQuery = new OperationStats("query.price");
+
+    private final List<ScrapeGenerator> generators = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private LoadTest(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        LoadTestApplication application = null;
+        String baseUrl = config.baseUrl();
+        if (baseUrl == null) {
+            application = LoadTestApplication.start(config.applicationProperties());
+            baseUrl = application.getBaseUrl();
+        }
+
+        List<String> regressions;
+        try {
+            regressions = new LoadTest(config, baseUrl).run();
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.err.println("Below the baseline:");
+            regressions.forEach(regression -> System.err.println("  " + regression));
+            System.exit(1);
+        }
+    }
+
+    private List<String> run() throws Exception {
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < config.ingestThreads(); i++) {
+            ScrapeGenerator generator = new ScrapeGenerator(config, i, config.ingestThreads());
+            generators.add(generator);
+            workers.add(Thread.ofPlatform().name("ingest-" + i).start(() -> ingestLoop(generator)));
+        }
+        for (int i = 0; i < config.queryThreads(); i++) {
+            Random random = new Random(config.seed() * 17 + i);
+            workers.add(Thread.ofPlatform().name("query-" + i).start(() -> queryLoop(random)));
+        }
+
+        System.out.println("Warming up for " + config.warmup().toSeconds() + "s against " + baseUrl);
+        Thread.sleep(config.warmup().toMillis());
+        List<OperationStats> operations = List.of(ingest, restaurantQuery, pageQuery, priceQuery);
+        operations.forEach(OperationStats::reset);
+        long[] generatedBefore = generated();
+        long start = System.nanoTime();
+
+        System.out.println("Measuring for " + config.duration().toSeconds() + "s");
+        Thread.sleep(config.duration().toMillis());
+        double seconds = (System.nanoTime() - start) / 1e9;
+        List<OperationStats.Snapshot> snapshots = operations.stream().map(OperationStats::snapshot).toList();
+        long[] generatedAfter = generated();
+
+        running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        LoadTestReport report = new LoadTestReport(config, seconds,
+                generatedAfter[0] - generatedBefore[0],
+                generatedAfter[1] - generatedBefore[1],
+                generatedAfter[2] - generatedBefore[2]);
+        for (int i = 0; i < operations.size(); i++) {
+            if (snapshots.get(i).latencies().getTotalCount() > 0 || snapshots.get(i).errors() > 0) {
+                report.add(operations.get(i).getName(), snapshots.get(i), seconds);
+            }
+        }
+        report.print(System.out);
+        if (config.output() != null) {
+            report.write(config.output());
+            System.out.println("Written to " + config.output());
+        }
+        return config.baseline() == null ? List.of() : report.compare(config.baseline(), config.tolerance());
+    }
+
+    // Items, duplicates and bad records generated so far; read while the generators run, so
+    // off by at most one scrape per ingest thread
+    private long[] generated() {
+        long[] totals = new long[3];
+        for (ScrapeGenerator generator : generators) {
+            totals[0] += generator.getItems();
+            totals[1] += generator.getDuplicates();
+            totals[2] += generator.getBad();
+        }
+        return totals;
+    }
+
+    private void ingestLoop(ScrapeGenerator generator) {
+        String uri = baseUrl + "/api/menu-items/batch?mode=" + config.mode() + "&partial=" + config.partial();
+        while (running) {
+            byte[] body;
+            try {
+                // Building and serializing the scrape is not part of the measured latency
+                List<MenuItemRequest> scrape = generator.nextScrape();
+                body = objectMapper.writeValueAsBytes(Map.of("items", scrape));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            send(ingest, HttpRequest.newBuilder(URI.create(uri))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build());
+        }
+    }
+
+    private void queryLoop(Random random) {
+        while (running) {
+            int restaurant = random.nextInt(config.restaurants());
+            switch (random.nextInt(3)) {
+                case 0 -> send(restaurantQuery, get("/api/menu-items?restaurant="
+                        + encode(ScrapeGenerator.restaurantName(config, restaurant))));
+                case 1 -> send(pageQuery, get("/api/menu-items/page?page_size=100&source_url="
+                        + encode(ScrapeGenerator.sourceUrl(config, restaurant))));
+                default -> {
+                    int minCents = random.nextInt(ScrapeGenerator.MAX_PRICE_CENTS / 2);
+                    send(priceQuery, get("/api/menu-items/page?page_size=100"
+                            + "&currency=" + ScrapeGenerator.currency(restaurant)
+                            + "&min_price=" + BigDecimal.valueOf(minCents, 2)
+                            + "&max_price=" + BigDecimal.valueOf(minCents + 500, 2)));
+                }
+            }
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    // The latency includes reading the whole response body
+    private void send(OperationStats stats, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            stats.record(start);
+            if (response.statusCode() >= 300) {
+                stats.error();
+            }
+        } catch (IOException e) {
+            stats.error();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,70 @@
+package com.taskflow.menuscraper.loadtest;
+
+import com.taskflow.menuscraper.MenuScraperApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Starts the application with its web server on a free port against an in-process
+// PostgreSQL, or against the database given by -Dloadtest.jdbc-url
+final class LoadTestApplication implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private LoadTestApplication(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    static LoadTestApplication start(Map<String, String> applicationProperties) throws IOException {
+        String jdbcUrl = System.getProperty("loadtest.jdbc-url");
+        String username = System.getProperty("loadtest.jdbc-username", "postgres");
+        String password = System.getProperty("loadtest.jdbc-password", "postgres");
+
+        EmbeddedPostgres postgres = null;
+        if (jdbcUrl == null) {
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        }
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.datasource.username", username);
+        properties.put("spring.datasource.password", password);
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        // Options of the run (pool size, batch sizes, ...) win over the defaults above
+        properties.putAll(applicationProperties);
+
+        // Passed as command line arguments, since default properties lose to application.yml
+        List<String> args = new ArrayList<>();
+        properties.forEach((name, value) -> args.add("--" + name + "=" + value));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MenuScraperApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(args.toArray(new String[0]));
+
+        return new LoadTestApplication(postgres, context);
+    }
+
+    String getBaseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+}
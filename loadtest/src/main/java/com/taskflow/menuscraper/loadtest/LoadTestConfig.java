@@ -0,0 +1,115 @@
+package com.taskflow.menuscraper.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Options given as --name=value. Options containing a dot (--spring.datasource.hikari.maximum-pool-size=20)
+// are passed on to the locally started application, which is how pool sizes, batch sizes and
+// worker counts are varied between runs.
+record LoadTestConfig(
+        int restaurants,
+        int itemsPerMenu,
+        double duplicateRate,
+        double badRate,
+        String mode,
+        boolean partial,
+        int ingestThreads,
+        int queryThreads,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        String baseUrl,
+        Path output,
+        Path baseline,
+        double tolerance,
+        Map<String, String> applicationProperties) {
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        Map<String, String> applicationProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            if (name.contains(".")) {
+                applicationProperties.put(name, value);
+            } else {
+                options.put(name, value);
+            }
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                Integer.parseInt(option(options, "restaurants", "100")),
+                Integer.parseInt(option(options, "items-per-menu", "50")),
+                Double.parseDouble(option(options, "duplicate-rate", "0.5")),
+                Double.parseDouble(option(options, "bad-rate", "0.01")),
+                option(options, "mode", "upsert").toLowerCase(Locale.ROOT),
+                Boolean.parseBoolean(option(options, "partial", "true")),
+                Integer.parseInt(option(options, "ingest-threads", "4")),
+                Integer.parseInt(option(options, "query-threads", "8")),
+                duration(option(options, "warmup", "30s")),
+                duration(option(options, "duration", "60s")),
+                Long.parseLong(option(options, "seed", "42")),
+                options.remove("base-url"),
+                path(options.remove("output")),
+                path(options.remove("baseline")),
+                Double.parseDouble(option(options, "tolerance", "0.1")),
+                applicationProperties);
+
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+        config.validate();
+        return config;
+    }
+
+    private void validate() {
+        if (restaurants < Math.max(1, ingestThreads)) {
+            throw new IllegalArgumentException("Need at least one restaurant per ingest thread");
+        }
+        if (itemsPerMenu < 1) {
+            throw new IllegalArgumentException("items-per-menu must be positive");
+        }
+        if (duplicateRate < 0 || duplicateRate > 1 || badRate < 0 || badRate > 1) {
+            throw new IllegalArgumentException("duplicate-rate and bad-rate must be between 0 and 1");
+        }
+        if (!mode.equals("append") && !mode.equals("upsert")) {
+            throw new IllegalArgumentException("mode must be append or upsert");
+        }
+        if (badRate > 0 && !partial) {
+            // Every batch would be rejected as soon as it contains one bad record
+            System.err.println("Warning: bad-rate > 0 without partial=true rejects whole batches");
+        }
+        if (ingestThreads < 0 || queryThreads < 0 || ingestThreads + queryThreads == 0) {
+            throw new IllegalArgumentException("Need at least one ingest or query thread");
+        }
+        if (baseUrl != null && !applicationProperties.isEmpty()) {
+            throw new IllegalArgumentException("Application properties only apply without base-url");
+        }
+    }
+
+    private static String option(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    // 30s, 5m, 1h
+    private static Duration duration(String value) {
+        try {
+            return Duration.parse("PT" + value.toUpperCase(Locale.ROOT));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid duration: " + value);
+        }
+    }
+
+    private static Path path(String value) {
+        return value == null || value.isBlank() ? null : Path.of(value);
+    }
+}
@@ -0,0 +1,115 @@
+package com.taskflow.menuscraper.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Result of a run: printed as a table, written as JSON and compared against the JSON of an
+// earlier run. A comparison fails when an operation's throughput dropped, or its p99 or
+// p99.9 latency grew, by more than the tolerance, or when it failed where the baseline didn't.
+final class LoadTestReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Object> result = new LinkedHashMap<>();
+    private final Map<String, Map<String, Object>> operations = new LinkedHashMap<>();
+
+    LoadTestReport(LoadTestConfig config, double seconds, long items, long duplicates, long bad) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("restaurants", config.restaurants());
+        settings.put("items_per_menu", config.itemsPerMenu());
+        settings.put("duplicate_rate", config.duplicateRate());
+        settings.put("bad_rate", config.badRate());
+        settings.put("mode", config.mode());
+        settings.put("partial", config.partial());
+        settings.put("ingest_threads", config.ingestThreads());
+        settings.put("query_threads", config.queryThreads());
+        settings.put("application_properties", config.applicationProperties());
+
+        Map<String, Object> generated = new LinkedHashMap<>();
+        generated.put("items", items);
+        generated.put("duplicates", duplicates);
+        generated.put("bad", bad);
+
+        result.put("config", settings);
+        result.put("duration_seconds", seconds);
+        result.put("generated", generated);
+        result.put("operations", operations);
+    }
+
+    void add(String name, OperationStats.Snapshot snapshot, double seconds) {
+        Histogram latencies = snapshot.latencies();
+        Map<String, Object> operation = new LinkedHashMap<>();
+        operation.put("count", latencies.getTotalCount());
+        operation.put("errors", snapshot.errors());
+        operation.put("throughput_per_second", latencies.getTotalCount() / seconds);
+        operation.put("p50_ms", millis(latencies.getValueAtPercentile(50)));
+        operation.put("p99_ms", millis(latencies.getValueAtPercentile(99)));
+        operation.put("p999_ms", millis(latencies.getValueAtPercentile(99.9)));
+        operation.put("max_ms", millis(latencies.getMaxValue()));
+        operations.put(name, operation);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-18s %10s %8s %12s %10s %10s %10s %10s%n",
+                "operation", "count", "errors", "per second", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        operations.forEach((name, operation) -> out.printf("%-18s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+                name, operation.get("count"), operation.get("errors"), operation.get("throughput_per_second"),
+                operation.get("p50_ms"), operation.get("p99_ms"), operation.get("p999_ms"), operation.get("max_ms")));
+        out.println("Generated " + result.get("generated"));
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MAPPER.writeValue(path.toFile(), result);
+    }
+
+    // Regressions against the baseline run, empty when there are none
+    List<String> compare(Path baselinePath, double tolerance) throws IOException {
+        JsonNode baseline = MAPPER.readTree(baselinePath.toFile()).path("operations");
+        List<String> regressions = new ArrayList<>();
+        baseline.fieldNames().forEachRemaining(name -> {
+            Map<String, Object> operation = operations.get(name);
+            JsonNode expected = baseline.get(name);
+            if (operation == null) {
+                regressions.add(name + ": not run");
+                return;
+            }
+
+            double throughput = (double) operation.get("throughput_per_second");
+            double minThroughput = expected.path("throughput_per_second").asDouble() * (1 - tolerance);
+            if (throughput < minThroughput) {
+                regressions.add(String.format("%s: %.1f/s, baseline allows no less than %.1f/s",
+                        name, throughput, minThroughput));
+            }
+            for (String percentile : List.of("p99_ms", "p999_ms")) {
+                double latency = (double) operation.get(percentile);
+                double maxLatency = expected.path(percentile).asDouble() * (1 + tolerance);
+                if (latency > maxLatency) {
+                    regressions.add(String.format("%s: %s %.2f, baseline allows no more than %.2f",
+                            name, percentile, latency, maxLatency));
+                }
+            }
+            if ((long) operation.get("errors") > 0 && expected.path("errors").asLong() == 0) {
+                regressions.add(name + ": " + operation.get("errors") + " errors, baseline had none");
+            }
+        });
+        return regressions;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
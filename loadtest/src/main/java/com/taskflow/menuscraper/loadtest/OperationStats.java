@@ -0,0 +1,48 @@
+package com.taskflow.menuscraper.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies and failures of one kind of request, recorded from any number of threads
+final class OperationStats {
+
+    // Anything slower is recorded as the maximum instead of failing the run
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void record(long startNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        recorder.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    // Starts a new interval; whatever was recorded so far (the warm-up) is dropped
+    void reset() {
+        recorder.reset();
+        errors.reset();
+    }
+
+    // Latencies in microseconds and the error count since the last reset
+    Snapshot snapshot() {
+        return new Snapshot(recorder.getIntervalHistogram(), errors.sum());
+    }
+
+    record Snapshot(Histogram latencies, long errors) {}
+}
@@ -0,0 +1,105 @@
+package com.taskflow.menuscraper.loadtest;
+
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Synthetic scrapes: every call to nextScrape() is one restaurant's full menu. On a
+// re-scrape each item keeps its previous price with probability duplicateRate (an unchanged
+// item for upsert mode) and gets a new one otherwise; independently of that, an item is
+// replaced by an invalid record with probability badRate. Each generator owns the
+// restaurants whose number is congruent to its index, so generators can run on separate
+// threads without sharing state.
+final class ScrapeGenerator {
+
+    static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "CHF", "HUF"};
+
+    // Max price in cents; queries pick price ranges inside it
+    static final int MAX_PRICE_CENTS = 5000;
+
+    private final LoadTestConfig config;
+    private final Random random;
+    private final int[] restaurants;
+    // Last scraped prices per owned restaurant, null until its first scrape
+    private final int[][] prices;
+
+    // Written by the owning thread only, read by the reporting thread
+    private volatile long items;
+    private volatile long duplicates;
+    private volatile long bad;
+
+    ScrapeGenerator(LoadTestConfig config, int index, int count) {
+        this.config = config;
+        this.random = new Random(config.seed() * 31 + index);
+
+        List<Integer> owned = new ArrayList<>();
+        for (int restaurant = index; restaurant < config.restaurants(); restaurant += count) {
+            owned.add(restaurant);
+        }
+        this.restaurants = owned.stream().mapToInt(Integer::intValue).toArray();
+        this.prices = new int[restaurants.length][];
+    }
+
+    List<MenuItemRequest> nextScrape() {
+        int slot = random.nextInt(restaurants.length);
+        int restaurant = restaurants[slot];
+        int[] previous = prices[slot];
+        int[] current = new int[config.itemsPerMenu()];
+
+        List<MenuItemRequest> menu = new ArrayList<>(current.length);
+        for (int i = 0; i < current.length; i++) {
+            if (previous != null && random.nextDouble() < config.duplicateRate()) {
+                current[i] = previous[i];
+                duplicates++;
+            } else {
+                current[i] = 100 + random.nextInt(MAX_PRICE_CENTS - 100);
+            }
+
+            MenuItemRequest item = new MenuItemRequest();
+            item.setRestaurantName(restaurantName(config, restaurant));
+            item.setSourceUrl(sourceUrl(config, restaurant));
+            item.setName("Dish " + i);
+            item.setDescription("Dish number " + i + " of restaurant " + restaurant + " with seasonal ingredients");
+            item.setPrice(BigDecimal.valueOf(current[i], 2));
+            item.setCurrency(currency(restaurant));
+            if (random.nextDouble() < config.badRate()) {
+                spoil(item);
+                bad++;
+            }
+            menu.add(item);
+        }
+
+        prices[slot] = current;
+        items += menu.size();
+        return menu;
+    }
+
+    // One of the ways scraped records are typically broken
+    private void spoil(MenuItemRequest item) {
+        switch (random.nextInt(4)) {
+            case 0 -> item.setName(" ");
+            case 1 -> item.setPrice(item.getPrice().negate());
+            case 2 -> item.setPrice(item.getPrice().add(new BigDecimal("0.005")));
+            default -> item.setCurrency("QQQ");
+        }
+    }
+
+    long getItems() { return items; }
+    long getDuplicates() { return duplicates; }
+    long getBad() { return bad; }
+
+    static String restaurantName(LoadTestConfig config, int restaurant) {
+        return "Load Test Restaurant " + config.seed() + "-" + restaurant;
+    }
+
+    static String sourceUrl(LoadTestConfig config, int restaurant) {
+        return "https://loadtest-" + config.seed() + "-" + restaurant + ".example.com/menu";
+    }
+
+    static String currency(int restaurant) {
+        return CURRENCIES[restaurant % CURRENCIES.length];
+    }
+}
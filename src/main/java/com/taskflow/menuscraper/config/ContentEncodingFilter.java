@@ -0,0 +1,456 @@
+package com.taskflow.menuscraper.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+// Decodes gzip and zstd request bodies and zstd-encodes API responses for clients that
+// accept it. gzip responses are left to Tomcat (server.compression), which also covers the
+// asynchronous NDJSON export that this filter skips (as it does the change feed). Decoded
+// bodies are capped, since a few kilobytes of gzip or zstd can expand to gigabytes.
+@Component
+public class ContentEncodingFilter extends OncePerRequestFilter {
+
+    private static final String ZSTD = "zstd";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${menu-scraper.compression.zstd-level:3}")
+    private int zstdLevel;
+
+    @Value("${menu-scraper.compression.max-decoded-request-bytes:104857600}")
+    private long maxDecodedRequestBytes;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding != null && !contentEncoding.equalsIgnoreCase("identity")) {
+            String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+            if (!encoding.equals("gzip") && !encoding.equals(ZSTD)) {
+                rejectEncoding(response, contentEncoding);
+                return;
+            }
+            DecodingRequest decodingRequest = new DecodingRequest(request, encoding, maxDecodedRequestBytes);
+            request = decodingRequest;
+            response = new DecodingResponse(response, decodingRequest);
+        }
+
+        try {
+            doFilterDecoded(request, response, chain);
+        } catch (IOException | ServletException e) {
+            if (!isTooLarge(e) || response.isCommitted()) {
+                throw e;
+            }
+            rejectTooLarge(response);
+        }
+    }
+
+    private void doFilterDecoded(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!acceptsZstd(request) || isStreaming(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ZstdResponse zstdResponse = new ZstdResponse(response, zstdLevel);
+        try {
+            chain.doFilter(request, zstdResponse);
+        } finally {
+            zstdResponse.finish();
+        }
+    }
+
+    // Thrown while the chain reads a decoded body past the limit; handlers that catch
+    // exceptions themselves let it through so that it is answered here
+    public static class DecodedBodyTooLargeException extends IOException {
+
+        DecodedBodyTooLargeException(long limit) {
+            super("Decoded request body exceeds " + limit + " bytes");
+        }
+    }
+
+    private static boolean isTooLarge(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DecodedBodyTooLargeException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Asynchronous responses are still being written after the chain returns
+    private static boolean isStreaming(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.endsWith("/export") || uri.endsWith("/changes");
+    }
+
+    private static boolean acceptsZstd(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headers.hasMoreElements()) {
+            for (String coding : headers.nextElement().split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase(ZSTD)) {
+                    return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    private void rejectEncoding(HttpServletResponse response, String contentEncoding) throws IOException {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Unsupported media type");
+        error.put("message", "Unsupported Content-Encoding: " + contentEncoding);
+        response.setStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+        response.setHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, zstd");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private void rejectTooLarge(HttpServletResponse response) throws IOException {
+        response.reset();
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Payload too large");
+        error.put("message", "Decoded request body exceeds " + maxDecodedRequestBytes + " bytes");
+        response.setStatus(HttpStatus.CONTENT_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    // Request body conversion answers a failed read with sendError(400); when the limit was
+    // the reason, the client gets the 413 instead
+    private class DecodingResponse extends HttpServletResponseWrapper {
+
+        private final DecodingRequest request;
+
+        DecodingResponse(HttpServletResponse response, DecodingRequest request) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            sendError(status, null);
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            if (request.isTooLarge() && !isCommitted()) {
+                rejectTooLarge((HttpServletResponse) getResponse());
+            } else if (message == null) {
+                super.sendError(status);
+            } else {
+                super.sendError(status, message);
+            }
+        }
+    }
+
+    // Hides the encoding and the (compressed) length from the rest of the chain
+    private static class DecodingRequest extends HttpServletRequestWrapper {
+
+        private final String encoding;
+        private final long maxDecodedBytes;
+        private DecodedInputStream inputStream;
+
+        DecodingRequest(HttpServletRequest request, String encoding, long maxDecodedBytes) {
+            super(request);
+            this.encoding = encoding;
+            this.maxDecodedBytes = maxDecodedBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                InputStream raw = super.getInputStream();
+                InputStream decoded = encoding.equals(ZSTD) ? new ZstdInputStream(raw) : new GZIPInputStream(raw);
+                inputStream = new DecodedInputStream(decoded, maxDecodedBytes);
+            }
+            return inputStream;
+        }
+
+        boolean isTooLarge() {
+            return inputStream != null && inputStream.tooLarge;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isHidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !isHidden(name))
+                    .toList());
+        }
+
+        private static boolean isHidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                    || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    private static class DecodedInputStream extends ServletInputStream {
+
+        private final InputStream decoded;
+        private final long maxBytes;
+        private long count;
+        private boolean finished;
+        private boolean tooLarge;
+
+        DecodedInputStream(InputStream decoded, long maxBytes) {
+            this.decoded = decoded;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = decoded.read();
+            finished = b == -1;
+            if (!finished) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = decoded.read(buffer, offset, length);
+            finished = read == -1;
+            if (!finished) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int bytes) throws IOException {
+            count += bytes;
+            if (count > maxBytes) {
+                tooLarge = true;
+                throw new DecodedBodyTooLargeException(maxBytes);
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Non-blocking reads of encoded bodies are not supported");
+        }
+
+        @Override
+        public void close() throws IOException {
+            decoded.close();
+        }
+    }
+
+    // Compresses whatever body the chain writes. The length is unknown up front, so
+    // Content-Length is dropped, and ETags become weak because the bytes differ from the
+    // identity encoding they were computed on.
+    private static class ZstdResponse extends HttpServletResponseWrapper {
+
+        private final int level;
+        private ZstdServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        ZstdResponse(HttpServletResponse response, int level) {
+            super(response);
+            this.level = level;
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                super.setHeader(HttpHeaders.CONTENT_ENCODING, ZSTD);
+                outputStream = new ZstdServletOutputStream(super.getOutputStream(), level);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+                        Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.setHeader(name, weakenEtag(name, value));
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.addHeader(name, weakenEtag(name, value));
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.addIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (outputStream != null) {
+                outputStream.flush();
+            }
+            super.flushBuffer();
+        }
+
+        private static String weakenEtag(String name, String value) {
+            if (HttpHeaders.ETAG.equalsIgnoreCase(name) && value != null && !value.startsWith("W/")) {
+                return "W/" + value;
+            }
+            return value;
+        }
+
+        // Writes the end of the zstd frame; responses that never wrote a body stay empty
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (outputStream != null) {
+                outputStream.finish();
+            }
+        }
+    }
+
+    private static class ZstdServletOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream target;
+        private final ZstdOutputStream zstd;
+        private boolean closed;
+
+        ZstdServletOutputStream(ServletOutputStream target, int level) throws IOException {
+            this.target = target;
+            this.zstd = new ZstdOutputStream(target, level);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            zstd.write(b);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            zstd.write(buffer, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!closed) {
+                zstd.flush();
+            }
+        }
+
+        // Ends the frame and closes the servlet stream; called by the filter and possibly
+        // before that by whoever wrote the body
+        void finish() throws IOException {
+            if (!closed) {
+                closed = true;
+                zstd.close();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            return target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            target.setWriteListener(writeListener);
+        }
+    }
+}
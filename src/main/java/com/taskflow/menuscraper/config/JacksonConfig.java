@@ -0,0 +1,27 @@
+package com.taskflow.menuscraper.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Used where the API reads or writes JSON itself (streaming endpoints) rather than
+    // through message converters; mirrors Spring Boot's defaults so the output matches
+    @Bean
+    public ObjectMapper objectMapper() {
+        return configure(new ObjectMapper());
+    }
+
+    // Also applied to the CBOR and Smile mappers so every format carries the same fields
+    public static <T extends ObjectMapper> T configure(T mapper) {
+        mapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+}
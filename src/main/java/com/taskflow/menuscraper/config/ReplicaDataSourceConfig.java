@@ -0,0 +1,76 @@
+package com.taskflow.menuscraper.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Replaces Spring Boot's single datasource when replicas are configured. Connections are
+// handed out lazily, so by the time a statement runs the transaction has marked them
+// read-only (@Transactional(readOnly = true)) and they are taken from the replicas; all
+// other work goes to the primary pool.
+@Configuration
+@ConditionalOnProperty(name = "menu-scraper.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Value("${spring.datasource.url}") String url,
+                                              @Value("${spring.datasource.username}") String username,
+                                              @Value("${spring.datasource.password}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${menu-scraper.replicas.urls}") String[] urls,
+            @Value("${menu-scraper.replicas.username:${spring.datasource.username}}") String username,
+            @Value("${menu-scraper.replicas.password:${spring.datasource.password}}") String password,
+            @Value("${menu-scraper.replicas.max-lag-seconds:5}") double maxLagSeconds,
+            @Value("${menu-scraper.replicas.check-timeout-seconds:2}") int checkTimeoutSeconds) {
+        Binder binder = Binder.get(environment);
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.length; i++) {
+            String name = "replica-" + i;
+            HikariDataSource replica = new HikariDataSource();
+            replica.setJdbcUrl(urls[i].trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            // Sized separately from the primary; see menu-scraper.replicas.hikari
+            binder.bind("menu-scraper.replicas.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("menu-scraper-" + name);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(name, replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLagSeconds, checkTimeoutSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
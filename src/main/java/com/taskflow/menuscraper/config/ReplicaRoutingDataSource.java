@@ -0,0 +1,137 @@
+package com.taskflow.menuscraper.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Read-only side of the datasource set up by ReplicaDataSourceConfig: spreads connections
+// round-robin over the replicas that passed their last check and falls back to the primary
+// when none did, or when a replica refuses a connection between checks.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    // Replay lag in seconds; 0 when the replica has replayed everything it received, since
+    // pg_last_xact_replay_timestamp() stops moving while the primary is idle
+    private static final String LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE coalesce(extract(epoch FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+    private final Map<String, HikariDataSource> replicas;
+    private final double maxLagSeconds;
+    private final int checkTimeoutSeconds;
+
+    private final Map<String, ReplicaStatus> statuses = new LinkedHashMap<>();
+    private volatile List<String> healthyReplicas = List.of();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public record ReplicaStatus(boolean healthy, @JsonProperty("lag_seconds") Double lagSeconds, String error) {}
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, HikariDataSource> replicas,
+                                    double maxLagSeconds, int checkTimeoutSeconds) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkTimeoutSeconds = checkTimeoutSeconds;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        // Unknown replicas are not used until the first check has passed
+        replicas.keySet().forEach(name -> statuses.put(name, new ReplicaStatus(false, null, "Not checked yet")));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection();
+        }
+        try {
+            return replicas.get(key).getConnection();
+        } catch (SQLException e) {
+            logger.warn("Replica {} unavailable, reading from the primary: {}", key, e.getMessage());
+            markUnhealthy((String) key, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${menu-scraper.replicas.check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Map.Entry<String, HikariDataSource> replica : replicas.entrySet()) {
+            ReplicaStatus status;
+            try (Connection connection = replica.getValue().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(checkTimeoutSeconds);
+                try (ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                    rs.next();
+                    double lag = rs.getDouble(1);
+                    status = lag <= maxLagSeconds
+                            ? new ReplicaStatus(true, lag, null)
+                            : new ReplicaStatus(false, lag, "Replication lag above " + maxLagSeconds + "s");
+                }
+            } catch (SQLException e) {
+                status = new ReplicaStatus(false, null, e.getMessage());
+            }
+            updateStatus(replica.getKey(), status);
+        }
+    }
+
+    private void markUnhealthy(String name, String error) {
+        updateStatus(name, new ReplicaStatus(false, null, error));
+    }
+
+    private synchronized void updateStatus(String name, ReplicaStatus status) {
+        ReplicaStatus previous = statuses.put(name, status);
+        if (previous != null && previous.healthy() != status.healthy()) {
+            logger.info("Replica {} is now {}: {}", name, status.healthy() ? "in use" : "skipped",
+                    status.healthy() ? "lag " + status.lagSeconds() + "s" : status.error());
+        }
+
+        List<String> healthy = new ArrayList<>();
+        statuses.forEach((replica, replicaStatus) -> {
+            if (replicaStatus.healthy()) {
+                healthy.add(replica);
+            }
+        });
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    public synchronized Map<String, ReplicaStatus> getStatuses() {
+        return new LinkedHashMap<>(statuses);
+    }
+
+    @Override
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+}
@@ -1,6 +1,9 @@
 package com.taskflow.menuscraper.controller;
 
-import com.taskflow.menuscraper.service.MenuItemService;
+import com.taskflow.menuscraper.config.ReplicaRoutingDataSource;
+import com.taskflow.menuscraper.service.MenuQueryCache;
+import com.taskflow.menuscraper.service.RestaurantCache;
+import com.taskflow.menuscraper.service.StatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,31 +19,29 @@ import java.util.Map;
 public class HealthController {
 
     @Autowired
-    private MenuItemService menuItemService;
+    private StatisticsService statisticsService;
 
+    @Autowired
+    private RestaurantCache restaurantCache;
+
+    @Autowired
+    private MenuQueryCache menuQueryCache;
+
+    // Only present when menu-scraper.replicas.enabled is set
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    // Only reads in-memory state, so liveness and readiness probes never wait on the database
     @GetMapping
     public ResponseEntity<Map<String, Object>> healthCheck() {
         Map<String, Object> health = new HashMap<>();
-        health.put("status", "UP");
+        health.put("status", statisticsService.isDatabaseConnected() ? "UP" : "DEGRADED");
         health.put("timestamp", LocalDateTime.now().toString());
-
-        try {
-            long menuItemCount = menuItemService.getTotalMenuItems();
-            long restaurantCount = menuItemService.getTotalRestaurants();
-
-            Map<String, Object> database = new HashMap<>();
-            database.put("status", "CONNECTED");
-            database.put("menu_items", menuItemCount);
-            database.put("restaurants", restaurantCount);
-
-            health.put("database", database);
-
-        } catch (Exception e) {
-            Map<String, Object> database = new HashMap<>();
-            database.put("status", "DISCONNECTED");
-            database.put("error", e.getMessage());
-            health.put("database", database);
-            health.put("status", "DEGRADED");
+        health.put("database", statisticsService.getDatabaseStats());
+        health.put("restaurant_cache", restaurantCache.getStats());
+        health.put("query_cache", menuQueryCache.getStats());
+        if (replicaRoutingDataSource != null) {
+            health.put("replicas", replicaRoutingDataSource.getStatuses());
         }
 
         return ResponseEntity.ok(health);
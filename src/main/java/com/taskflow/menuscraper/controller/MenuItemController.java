@@ -1,17 +1,47 @@
 package com.taskflow.menuscraper.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflow.menuscraper.config.ContentEncodingFilter;
 import com.taskflow.menuscraper.dto.BatchMenuItemRequest;
-import com.taskflow.menuscraper.dto.MenuItemResponse;
+import com.taskflow.menuscraper.dto.IngestJobResponse;
+import com.taskflow.menuscraper.dto.MenuItemPageResponse;
+import com.taskflow.menuscraper.dto.NdjsonIngestResponse;
+import com.taskflow.menuscraper.dto.UpsertBatchResult;
+import com.taskflow.menuscraper.repository.MenuItemFilter;
+import com.taskflow.menuscraper.service.IngestJob;
+import com.taskflow.menuscraper.service.IngestJobService;
+import com.taskflow.menuscraper.service.IngestMode;
+import com.taskflow.menuscraper.service.MenuChangeFeed;
+import com.taskflow.menuscraper.service.MenuItemQueryService;
+import com.taskflow.menuscraper.service.MenuItemFormat;
 import com.taskflow.menuscraper.service.MenuItemService;
+import com.taskflow.menuscraper.service.MenuQueryCache;
+import com.taskflow.menuscraper.service.MenuScraperMetrics;
+import com.taskflow.menuscraper.service.NdjsonIngestService;
+import com.taskflow.menuscraper.service.PartialBatchService;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/menu-items")
@@ -20,16 +50,77 @@ public class MenuItemController {
     @Autowired
     private MenuItemService menuItemService;
 
+    @Autowired
+    private MenuItemQueryService menuItemQueryService;
+
+    @Autowired
+    private NdjsonIngestService ndjsonIngestService;
+
+    @Autowired
+    private IngestJobService ingestJobService;
+
+    @Autowired
+    private PartialBatchService partialBatchService;
+
+    @Autowired
+    private MenuChangeFeed menuChangeFeed;
+
+    @Autowired
+    private MenuScraperMetrics metrics;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    @Value("${menu-scraper.ingest.async.retry-after-seconds:5}")
+    private int retryAfterSeconds;
+
     @PostMapping("/batch")
-    public ResponseEntity<?> saveBatch(@Valid @RequestBody BatchMenuItemRequest request) {
+    public ResponseEntity<?> saveBatch(@Valid @RequestBody BatchMenuItemRequest request,
+                                       @RequestParam(defaultValue = "false") boolean async,
+                                       @RequestParam(defaultValue = "append") String mode,
+                                       @RequestParam(defaultValue = "false") boolean partial) {
+        IngestMode ingestMode;
         try {
-            int savedCount = menuItemService.saveBatch(request.getItems());
+            ingestMode = IngestMode.fromParam(mode);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid request");
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        if (async) {
+            return submitBatch(request, ingestMode, partial);
+        }
+
+        if (partial) {
+            try {
+                return ResponseEntity.ok(partialBatchService.save(request.getItems(), ingestMode));
+            } catch (Exception e) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Internal server error");
+                error.put("message", "Failed to process batch request");
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+            }
+        }
 
+        try {
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Batch processed successfully");
-            response.put("saved_count", savedCount);
             response.put("total_requested", request.getItems().size());
 
+            if (ingestMode == IngestMode.UPSERT) {
+                UpsertBatchResult result = menuItemService.upsertBatch(request.getItems());
+                response.put("saved_count", result.getInsertedCount() + result.getUpdatedCount());
+                response.put("inserted_count", result.getInsertedCount());
+                response.put("updated_count", result.getUpdatedCount());
+                response.put("unchanged_count", result.getUnchangedCount());
+            } else {
+                response.put("saved_count", menuItemService.saveBatch(request.getItems()));
+            }
+
             return ResponseEntity.ok(response);
 
         } catch (IllegalArgumentException e) {
@@ -46,12 +137,194 @@ public class MenuItemController {
         }
     }
 
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<IngestJobResponse> getJob(@PathVariable UUID jobId) {
+        return ingestJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(IngestJobResponse.from(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<?> submitBatch(BatchMenuItemRequest request, IngestMode mode, boolean partial) {
+        Optional<IngestJob> job = ingestJobService.submit(request.getItems(), mode, partial);
+
+        if (job.isEmpty()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Too many requests");
+            error.put("message", "Ingest queue is full, retry later");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(error);
+        }
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/menu-items/jobs/" + job.get().getId()))
+                .body(IngestJobResponse.from(job.get()));
+    }
+
+    @PostMapping(value = "/stream", consumes = "application/x-ndjson")
+    public ResponseEntity<?> saveStream(InputStream body) throws IOException {
+        try {
+            NdjsonIngestResponse response = ndjsonIngestService.ingest(body);
+            if (response.getError() != null) {
+                return ResponseEntity.badRequest().body(response);
+            }
+            return ResponseEntity.ok(response);
+
+        } catch (ContentEncodingFilter.DecodedBodyTooLargeException e) {
+            // Answered with 413 by the filter; chunks read before the limit stay committed
+            throw e;
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Internal server error");
+            error.put("message", "Failed to process stream request");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    // Encoded as JSON, CBOR or Smile depending on Accept; layout=grouped nests the items
+    // under their restaurant instead of repeating its name and URL on every item
     @GetMapping
-    public ResponseEntity<List<MenuItemResponse>> getMenuItems(
+    public ResponseEntity<?> getMenuItems(
+            @RequestParam(required = false) String restaurant,
+            @RequestParam(value = "source_url", required = false) String sourceUrl,
+            @RequestParam(value = "scraped_from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scrapedFrom,
+            @RequestParam(value = "scraped_to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scrapedTo,
+            @RequestParam(value = "min_price", required = false) BigDecimal minPrice,
+            @RequestParam(value = "max_price", required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String currency,
+            @RequestParam(defaultValue = "flat") String layout,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) throws IOException {
+
+        if (!layout.equals("flat") && !layout.equals("grouped")) {
+            return invalidRequest("Unknown layout: " + layout);
+        }
+
+        MenuItemFilter filter;
+        try {
+            filter = MenuItemFilter.of(restaurant, sourceUrl, scrapedFrom, scrapedTo, minPrice, maxPrice, currency);
+        } catch (IllegalArgumentException e) {
+            return invalidRequest(e.getMessage());
+        }
+
+        MenuItemFormat format = MenuItemFormat.fromAccept(accept);
+        MenuQueryCache.CachedResponse response =
+                menuItemQueryService.getMenuItems(filter, format, layout.equals("grouped"));
+        if (webRequest.checkNotModified(response.etag())) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(response.etag());
+        if (response.nextCursor() != null) {
+            // More items match than the list returns; /page continues from here
+            builder.header(NEXT_CURSOR_HEADER, response.nextCursor());
+        }
+        return builder.body(response.body());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<?> getMenuItemPage(
             @RequestParam(required = false) String restaurant,
-            @RequestParam(value = "source_url", required = false) String sourceUrl) {
+            @RequestParam(value = "source_url", required = false) String sourceUrl,
+            @RequestParam(value = "scraped_from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scrapedFrom,
+            @RequestParam(value = "scraped_to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scrapedTo,
+            @RequestParam(value = "min_price", required = false) BigDecimal minPrice,
+            @RequestParam(value = "max_price", required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(value = "page_size", required = false) Integer pageSize) {
+        Timer.Sample sample = metrics.startQuery();
+        try {
+            MenuItemFilter filter =
+                    MenuItemFilter.of(restaurant, sourceUrl, scrapedFrom, scrapedTo, minPrice, maxPrice, currency);
+            MenuItemPageResponse page = menuItemService.getMenuItemPage(filter, cursor, pageSize);
+            metrics.stopQuery(sample, "page", filter, "none");
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return invalidRequest(e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportMenuItems(
+            @RequestParam(required = false) String restaurant,
+            @RequestParam(value = "source_url", required = false) String sourceUrl,
+            @RequestParam(value = "scraped_from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scrapedFrom,
+            @RequestParam(value = "scraped_to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scrapedTo,
+            @RequestParam(value = "min_price", required = false) BigDecimal minPrice,
+            @RequestParam(value = "max_price", required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String currency) {
+
+        MenuItemFilter filter;
+        try {
+            filter = MenuItemFilter.of(restaurant, sourceUrl, scrapedFrom, scrapedTo, minPrice, maxPrice, currency);
+        } catch (IllegalArgumentException e) {
+            // Streaming endpoints can only return a StreamingResponseBody, so the error is
+            // written as one
+            Map<String, String> error = invalidRequest(e.getMessage()).getBody();
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+
+        StreamingResponseBody body = out -> {
+            Timer.Sample sample = metrics.startQuery();
+            menuItemService.exportMenuItems(filter, out);
+            metrics.stopQuery(sample, "export", filter, "none");
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    // Server-Sent Events of committed menu item changes. Resumes after the Last-Event-ID
+    // header, or last_event_id for the first connection; only restaurant and source_url apply.
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestParam(required = false) String restaurant,
+            @RequestParam(value = "source_url", required = false) String sourceUrl,
+            @RequestParam(value = "last_event_id", required = false) String lastEventIdParam,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        try {
+            MenuItemFilter filter = MenuItemFilter.of(restaurant, sourceUrl, null, null, null, null, null);
+            return menuChangeFeed.subscribe(filter, lastEventId)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> streamError(HttpStatus.SERVICE_UNAVAILABLE, "Too many subscribers",
+                            "Change feed subscriber limit reached, retry later"));
+        } catch (IllegalArgumentException e) {
+            return streamError(HttpStatus.BAD_REQUEST, "Invalid request", e.getMessage());
+        }
+    }
+
+    // An event stream cannot carry a JSON body, so errors are sent as a single "rejected"
+    // event holding the usual error map
+    private static ResponseEntity<SseEmitter> streamError(HttpStatus status, String error, String message) {
+        Map<String, String> body = new HashMap<>();
+        body.put("error", error);
+        body.put("message", message);
+        SseEmitter emitter = new SseEmitter();
+        try {
+            emitter.send(SseEmitter.event().name("rejected").data(body, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return ResponseEntity.status(status).body(emitter);
+    }
 
-        List<MenuItemResponse> items = menuItemService.getMenuItems(restaurant, sourceUrl);
-        return ResponseEntity.ok(items);
+    private static ResponseEntity<Map<String, String>> invalidRequest(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Invalid request");
+        error.put("message", message);
+        return ResponseEntity.badRequest().body(error);
     }
-}
\ No newline at end of file
+}
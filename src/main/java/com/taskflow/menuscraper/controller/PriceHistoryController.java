@@ -0,0 +1,43 @@
+package com.taskflow.menuscraper.controller;
+
+import com.taskflow.menuscraper.service.PriceHistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/price-history")
+public class PriceHistoryController {
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    @GetMapping
+    public ResponseEntity<?> getPriceHistory(
+            @RequestParam(value = "menu_item_id", required = false) UUID menuItemId,
+            @RequestParam(value = "source_url", required = false) String sourceUrl,
+            @RequestParam(required = false) String item,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return priceHistoryService.getPriceHistory(menuItemId, sourceUrl, item, from, to, limit)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid request");
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
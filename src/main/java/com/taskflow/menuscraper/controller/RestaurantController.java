@@ -0,0 +1,25 @@
+package com.taskflow.menuscraper.controller;
+
+import com.taskflow.menuscraper.service.RestaurantSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/restaurants")
+public class RestaurantController {
+
+    @Autowired
+    private RestaurantSnapshotService restaurantSnapshotService;
+
+    @GetMapping(value = "/snapshot", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getSnapshot(@RequestParam("source_url") String sourceUrl) {
+        return restaurantSnapshotService.getSnapshotJson(sourceUrl)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
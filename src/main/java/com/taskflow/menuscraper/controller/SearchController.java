@@ -0,0 +1,49 @@
+package com.taskflow.menuscraper.controller;
+
+import com.taskflow.menuscraper.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping("/restaurants")
+    public ResponseEntity<?> searchRestaurants(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(searchService.searchRestaurants(query, limit));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+    }
+
+    @GetMapping("/menu-items")
+    public ResponseEntity<?> searchMenuItems(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(searchService.searchMenuItems(query, limit));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+    }
+
+    private ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Invalid request");
+        error.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+}
@@ -0,0 +1,121 @@
+package com.taskflow.menuscraper.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.taskflow.menuscraper.service.IngestJob;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IngestJobResponse {
+
+    @JsonProperty("job_id")
+    private UUID jobId;
+
+    private String status;
+
+    private String mode;
+
+    @JsonProperty("total_requested")
+    private int totalRequested;
+
+    // Grows chunk by chunk for partial jobs; all-or-nothing jobs jump to total_requested
+    // when they finish
+    @JsonProperty("processed_count")
+    private int processedCount;
+
+    @JsonProperty("saved_count")
+    private int savedCount;
+
+    private boolean partial;
+
+    // Only present for completed upsert jobs
+    @JsonProperty("upsert_result")
+    private UpsertBatchResult upsertResult;
+
+    // Only present for completed partial jobs
+    @JsonProperty("rejected_count")
+    private Integer rejectedCount;
+
+    private List<PartialBatchResponse.ItemError> errors;
+
+    private String error;
+
+    @JsonProperty("submitted_at")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime submittedAt;
+
+    @JsonProperty("started_at")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    @JsonProperty("finished_at")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime finishedAt;
+
+    public static IngestJobResponse from(IngestJob job) {
+        IngestJobResponse response = new IngestJobResponse();
+        response.setJobId(job.getId());
+        response.setStatus(job.getStatus().name());
+        response.setMode(job.getMode().name());
+        response.setTotalRequested(job.getTotalRequested());
+        response.setProcessedCount(job.getProcessedCount());
+        response.setSavedCount(job.getSavedCount());
+        response.setPartial(job.isPartial());
+        response.setUpsertResult(job.getUpsertResult());
+        if (job.getPartialResult() != null) {
+            response.setRejectedCount(job.getPartialResult().getRejectedCount());
+            response.setErrors(job.getPartialResult().getErrors());
+        }
+        response.setError(job.getError());
+        response.setSubmittedAt(job.getSubmittedAt());
+        response.setStartedAt(job.getStartedAt());
+        response.setFinishedAt(job.getFinishedAt());
+        return response;
+    }
+
+    // Getters and Setters
+    public UUID getJobId() { return jobId; }
+    public void setJobId(UUID jobId) { this.jobId = jobId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+
+    public int getTotalRequested() { return totalRequested; }
+    public void setTotalRequested(int totalRequested) { this.totalRequested = totalRequested; }
+
+    public int getProcessedCount() { return processedCount; }
+    public void setProcessedCount(int processedCount) { this.processedCount = processedCount; }
+
+    public int getSavedCount() { return savedCount; }
+    public void setSavedCount(int savedCount) { this.savedCount = savedCount; }
+
+    public boolean isPartial() { return partial; }
+    public void setPartial(boolean partial) { this.partial = partial; }
+
+    public UpsertBatchResult getUpsertResult() { return upsertResult; }
+    public void setUpsertResult(UpsertBatchResult upsertResult) { this.upsertResult = upsertResult; }
+
+    public Integer getRejectedCount() { return rejectedCount; }
+    public void setRejectedCount(Integer rejectedCount) { this.rejectedCount = rejectedCount; }
+
+    public List<PartialBatchResponse.ItemError> getErrors() { return errors; }
+    public void setErrors(List<PartialBatchResponse.ItemError> errors) { this.errors = errors; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,33 @@
+package com.taskflow.menuscraper.dto;
+
+// One entry of the change feed: a menu item as committed by an ingest batch
+public class MenuItemChange {
+
+    public static final String INSERTED = "inserted";
+    public static final String UPDATED = "updated";
+
+    private long sequence;
+
+    // inserted, or updated for upsert-mode items whose content changed
+    private String change;
+
+    private MenuItemResponse item;
+
+    public MenuItemChange() {}
+
+    public MenuItemChange(long sequence, String change, MenuItemResponse item) {
+        this.sequence = sequence;
+        this.change = change;
+        this.item = item;
+    }
+
+    // Getters and Setters
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public String getChange() { return change; }
+    public void setChange(String change) { this.change = change; }
+
+    public MenuItemResponse getItem() { return item; }
+    public void setItem(MenuItemResponse item) { this.item = item; }
+}
@@ -0,0 +1,82 @@
+package com.taskflow.menuscraper.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Restaurant-grouped layout of GET /api/menu-items: the restaurant name and source URL are
+// written once per restaurant instead of once per item
+public class MenuItemGroupResponse {
+
+    @JsonProperty("restaurant_name")
+    private String restaurantName;
+
+    @JsonProperty("source_url")
+    private String sourceUrl;
+
+    private List<Item> items = new ArrayList<>();
+
+    public MenuItemGroupResponse() {}
+
+    public MenuItemGroupResponse(String restaurantName, String sourceUrl) {
+        this.restaurantName = restaurantName;
+        this.sourceUrl = sourceUrl;
+    }
+
+    // Getters and Setters
+    public String getRestaurantName() { return restaurantName; }
+    public void setRestaurantName(String restaurantName) { this.restaurantName = restaurantName; }
+
+    public String getSourceUrl() { return sourceUrl; }
+    public void setSourceUrl(String sourceUrl) { this.sourceUrl = sourceUrl; }
+
+    public List<Item> getItems() { return items; }
+    public void setItems(List<Item> items) { this.items = items; }
+
+    public static class Item {
+
+        private UUID id;
+        private String name;
+        private String description;
+        private BigDecimal price;
+        private String currency;
+
+        @JsonProperty("scraped_at")
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        private LocalDateTime scrapedAt;
+
+        public Item() {}
+
+        public Item(MenuItemResponse response) {
+            this.id = response.getId();
+            this.name = response.getName();
+            this.description = response.getDescription();
+            this.price = response.getPrice();
+            this.currency = response.getCurrency();
+            this.scrapedAt = response.getScrapedAt();
+        }
+
+        // Getters and Setters
+        public UUID getId() { return id; }
+        public void setId(UUID id) { this.id = id; }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+
+        public BigDecimal getPrice() { return price; }
+        public void setPrice(BigDecimal price) { this.price = price; }
+
+        public String getCurrency() { return currency; }
+        public void setCurrency(String currency) { this.currency = currency; }
+
+        public LocalDateTime getScrapedAt() { return scrapedAt; }
+        public void setScrapedAt(LocalDateTime scrapedAt) { this.scrapedAt = scrapedAt; }
+    }
+}
@@ -0,0 +1,34 @@
+package com.taskflow.menuscraper.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public class MenuItemPageResponse {
+
+    private List<MenuItemResponse> items;
+
+    @JsonProperty("page_size")
+    private int pageSize;
+
+    // Null on the last page
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    public MenuItemPageResponse() {}
+
+    public MenuItemPageResponse(List<MenuItemResponse> items, int pageSize, String nextCursor) {
+        this.items = items;
+        this.pageSize = pageSize;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<MenuItemResponse> getItems() { return items; }
+    public void setItems(List<MenuItemResponse> items) { this.items = items; }
+
+    public int getPageSize() { return pageSize; }
+    public void setPageSize(int pageSize) { this.pageSize = pageSize; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -25,6 +25,22 @@ public class MenuItemResponse {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime scrapedAt;
 
+    public MenuItemResponse() {}
+
+    // Used by JPQL constructor expressions so reads never materialize entities
+    public MenuItemResponse(UUID id, String restaurantName, String sourceUrl, String name,
+                            String description, BigDecimal price, String currency,
+                            LocalDateTime scrapedAt) {
+        this.id = id;
+        this.restaurantName = restaurantName;
+        this.sourceUrl = sourceUrl;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.currency = currency;
+        this.scrapedAt = scrapedAt;
+    }
+
     // Getters and Setters
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
@@ -0,0 +1,23 @@
+package com.taskflow.menuscraper.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class MenuItemSearchResult extends MenuItemResponse {
+
+    private double score;
+
+    public MenuItemSearchResult() {}
+
+    public MenuItemSearchResult(UUID id, String restaurantName, String sourceUrl, String name,
+                                String description, BigDecimal price, String currency,
+                                LocalDateTime scrapedAt, double score) {
+        super(id, restaurantName, sourceUrl, name, description, price, currency, scrapedAt);
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
@@ -0,0 +1,72 @@
+package com.taskflow.menuscraper.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NdjsonIngestResponse {
+
+    @JsonProperty("records_read")
+    private long recordsRead;
+
+    @JsonProperty("saved_count")
+    private long savedCount;
+
+    private List<ChunkResult> chunks = new ArrayList<>();
+
+    // Set when ingestion stopped early; chunks committed before that point are kept
+    private String error;
+
+    @JsonProperty("failed_record")
+    private Long failedRecord;
+
+    public void addChunk(int records, int savedCount) {
+        chunks.add(new ChunkResult(chunks.size() + 1, records, savedCount));
+        this.savedCount += savedCount;
+    }
+
+    // Getters and Setters
+    public long getRecordsRead() { return recordsRead; }
+    public void setRecordsRead(long recordsRead) { this.recordsRead = recordsRead; }
+
+    public long getSavedCount() { return savedCount; }
+    public void setSavedCount(long savedCount) { this.savedCount = savedCount; }
+
+    public List<ChunkResult> getChunks() { return chunks; }
+    public void setChunks(List<ChunkResult> chunks) { this.chunks = chunks; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public Long getFailedRecord() { return failedRecord; }
+    public void setFailedRecord(Long failedRecord) { this.failedRecord = failedRecord; }
+
+    public static class ChunkResult {
+
+        private int chunk;
+        private int records;
+
+        @JsonProperty("saved_count")
+        private int savedCount;
+
+        public ChunkResult() {}
+
+        public ChunkResult(int chunk, int records, int savedCount) {
+            this.chunk = chunk;
+            this.records = records;
+            this.savedCount = savedCount;
+        }
+
+        // Getters and Setters
+        public int getChunk() { return chunk; }
+        public void setChunk(int chunk) { this.chunk = chunk; }
+
+        public int getRecords() { return records; }
+        public void setRecords(int records) { this.records = records; }
+
+        public int getSavedCount() { return savedCount; }
+        public void setSavedCount(int savedCount) { this.savedCount = savedCount; }
+    }
+}
@@ -0,0 +1,83 @@
+package com.taskflow.menuscraper.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PartialBatchResponse {
+
+    @JsonProperty("total_requested")
+    private int totalRequested;
+
+    @JsonProperty("saved_count")
+    private int savedCount;
+
+    @JsonProperty("rejected_count")
+    private int rejectedCount;
+
+    // Only present in upsert mode
+    @JsonProperty("upsert_result")
+    private UpsertBatchResult upsertResult;
+
+    // Ordered by index; covers invalid items and items of chunks that failed to commit
+    private List<ItemError> errors = new ArrayList<>();
+
+    public void addError(int index, String message) {
+        errors.add(new ItemError(index, message));
+        rejectedCount++;
+    }
+
+    public void addSaved(int savedCount) {
+        this.savedCount += savedCount;
+    }
+
+    public void addUpsertResult(UpsertBatchResult result) {
+        if (upsertResult == null) {
+            upsertResult = new UpsertBatchResult();
+        }
+        upsertResult.setInsertedCount(upsertResult.getInsertedCount() + result.getInsertedCount());
+        upsertResult.setUpdatedCount(upsertResult.getUpdatedCount() + result.getUpdatedCount());
+        upsertResult.setUnchangedCount(upsertResult.getUnchangedCount() + result.getUnchangedCount());
+        savedCount += result.getInsertedCount() + result.getUpdatedCount();
+    }
+
+    // Getters and Setters
+    public int getTotalRequested() { return totalRequested; }
+    public void setTotalRequested(int totalRequested) { this.totalRequested = totalRequested; }
+
+    public int getSavedCount() { return savedCount; }
+    public void setSavedCount(int savedCount) { this.savedCount = savedCount; }
+
+    public int getRejectedCount() { return rejectedCount; }
+    public void setRejectedCount(int rejectedCount) { this.rejectedCount = rejectedCount; }
+
+    public UpsertBatchResult getUpsertResult() { return upsertResult; }
+    public void setUpsertResult(UpsertBatchResult upsertResult) { this.upsertResult = upsertResult; }
+
+    public List<ItemError> getErrors() { return errors; }
+    public void setErrors(List<ItemError> errors) { this.errors = errors; }
+
+    public static class ItemError {
+
+        // Position of the item in the request's items array
+        private int index;
+
+        private String message;
+
+        public ItemError() {}
+
+        public ItemError(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
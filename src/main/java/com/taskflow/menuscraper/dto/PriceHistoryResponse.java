@@ -0,0 +1,126 @@
+package com.taskflow.menuscraper.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class PriceHistoryResponse {
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime from;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime to;
+
+    private List<CurrencyStats> stats;
+
+    private List<Observation> observations;
+
+    // True when more observations exist in the window than were returned
+    private boolean truncated;
+
+    // Getters and Setters
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+
+    public List<CurrencyStats> getStats() { return stats; }
+    public void setStats(List<CurrencyStats> stats) { this.stats = stats; }
+
+    public List<Observation> getObservations() { return observations; }
+    public void setObservations(List<Observation> observations) { this.observations = observations; }
+
+    public boolean isTruncated() { return truncated; }
+    public void setTruncated(boolean truncated) { this.truncated = truncated; }
+
+    public static class Observation {
+
+        @JsonProperty("menu_item_id")
+        private UUID menuItemId;
+
+        // Same for every observation of the item, whichever menu_items row recorded it
+        @JsonProperty("item_key")
+        private String itemKey;
+
+        private BigDecimal price;
+        private String currency;
+
+        @JsonProperty("observed_at")
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        private LocalDateTime observedAt;
+
+        public Observation() {}
+
+        public Observation(UUID menuItemId, String itemKey, BigDecimal price, String currency,
+                           LocalDateTime observedAt) {
+            this.menuItemId = menuItemId;
+            this.itemKey = itemKey;
+            this.price = price;
+            this.currency = currency;
+            this.observedAt = observedAt;
+        }
+
+        // Getters and Setters
+        public UUID getMenuItemId() { return menuItemId; }
+        public void setMenuItemId(UUID menuItemId) { this.menuItemId = menuItemId; }
+
+        public String getItemKey() { return itemKey; }
+        public void setItemKey(String itemKey) { this.itemKey = itemKey; }
+
+        public BigDecimal getPrice() { return price; }
+        public void setPrice(BigDecimal price) { this.price = price; }
+
+        public String getCurrency() { return currency; }
+        public void setCurrency(String currency) { this.currency = currency; }
+
+        public LocalDateTime getObservedAt() { return observedAt; }
+        public void setObservedAt(LocalDateTime observedAt) { this.observedAt = observedAt; }
+    }
+
+    public static class CurrencyStats {
+
+        private String currency;
+        private long observations;
+
+        @JsonProperty("min_price")
+        private BigDecimal minPrice;
+
+        @JsonProperty("max_price")
+        private BigDecimal maxPrice;
+
+        @JsonProperty("avg_price")
+        private BigDecimal avgPrice;
+
+        public CurrencyStats() {}
+
+        public CurrencyStats(String currency, long observations, BigDecimal minPrice,
+                             BigDecimal maxPrice, BigDecimal avgPrice) {
+            this.currency = currency;
+            this.observations = observations;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.avgPrice = avgPrice;
+        }
+
+        // Getters and Setters
+        public String getCurrency() { return currency; }
+        public void setCurrency(String currency) { this.currency = currency; }
+
+        public long getObservations() { return observations; }
+        public void setObservations(long observations) { this.observations = observations; }
+
+        public BigDecimal getMinPrice() { return minPrice; }
+        public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+
+        public BigDecimal getMaxPrice() { return maxPrice; }
+        public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+
+        public BigDecimal getAvgPrice() { return avgPrice; }
+        public void setAvgPrice(BigDecimal avgPrice) { this.avgPrice = avgPrice; }
+    }
+}
@@ -0,0 +1,37 @@
+package com.taskflow.menuscraper.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.UUID;
+
+public class RestaurantSearchResult {
+
+    private UUID id;
+    private String name;
+
+    @JsonProperty("source_url")
+    private String sourceUrl;
+
+    private double score;
+
+    public RestaurantSearchResult() {}
+
+    public RestaurantSearchResult(UUID id, String name, String sourceUrl, double score) {
+        this.id = id;
+        this.name = name;
+        this.sourceUrl = sourceUrl;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getSourceUrl() { return sourceUrl; }
+    public void setSourceUrl(String sourceUrl) { this.sourceUrl = sourceUrl; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
@@ -0,0 +1,34 @@
+package com.taskflow.menuscraper.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class UpsertBatchResult {
+
+    @JsonProperty("inserted_count")
+    private int insertedCount;
+
+    @JsonProperty("updated_count")
+    private int updatedCount;
+
+    // Includes repeats of the same item within the batch
+    @JsonProperty("unchanged_count")
+    private int unchangedCount;
+
+    public UpsertBatchResult() {}
+
+    public UpsertBatchResult(int insertedCount, int updatedCount, int unchangedCount) {
+        this.insertedCount = insertedCount;
+        this.updatedCount = updatedCount;
+        this.unchangedCount = unchangedCount;
+    }
+
+    // Getters and Setters
+    public int getInsertedCount() { return insertedCount; }
+    public void setInsertedCount(int insertedCount) { this.insertedCount = insertedCount; }
+
+    public int getUpdatedCount() { return updatedCount; }
+    public void setUpdatedCount(int updatedCount) { this.updatedCount = updatedCount; }
+
+    public int getUnchangedCount() { return unchangedCount; }
+    public void setUnchangedCount(int unchangedCount) { this.unchangedCount = unchangedCount; }
+}
@@ -36,7 +36,7 @@ public class MenuItem {
     @Column(nullable = false, length = 3)
     private String currency;
 
-    @Column(name = "scraped_at")
+    @Column(name = "scraped_at", nullable = false)
     private LocalDateTime scrapedAt;
 
     @PrePersist
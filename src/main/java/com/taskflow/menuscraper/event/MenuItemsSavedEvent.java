@@ -0,0 +1,59 @@
+package com.taskflow.menuscraper.event;
+
+import com.taskflow.menuscraper.dto.MenuItemResponse;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// Published inside the ingest transaction; listeners that need committed data use
+// @TransactionalEventListener(phase = AFTER_COMMIT)
+public class MenuItemsSavedEvent {
+
+    // The batch the items came from. id is shared by every chunk of a partial or streamed
+    // upload. restaurants and itemKeysBySourceUrl cover every item of the batch, including
+    // unchanged upsert-mode items, which are not in items. refreshedKeysBySourceUrl holds the
+    // unchanged items whose scraped_at was moved up to scrapedAt to keep them from retention.
+    public record Scrape(UUID id, LocalDateTime scrapedAt, Map<String, String> restaurants,
+                         Map<String, Set<String>> itemKeysBySourceUrl,
+                         Map<String, Set<String>> refreshedKeysBySourceUrl) {}
+
+    private final List<MenuItemResponse> items;
+
+    // How many of the items are new rows; the rest are upsert-mode updates
+    private final int insertedCount;
+
+    // Null for single items, which do not stand for a restaurant's whole menu
+    private final Scrape scrape;
+
+    public MenuItemsSavedEvent(List<MenuItemResponse> items, int insertedCount) {
+        this(items, insertedCount, null);
+    }
+
+    public MenuItemsSavedEvent(List<MenuItemResponse> items, int insertedCount, Scrape scrape) {
+        this.items = items;
+        this.insertedCount = insertedCount;
+        this.scrape = scrape;
+    }
+
+    public List<MenuItemResponse> getItems() { return items; }
+    public int getInsertedCount() { return insertedCount; }
+    public Scrape getScrape() { return scrape; }
+
+    // Restaurant name keyed by source URL for every restaurant whose items were written
+    public Map<String, String> getRestaurants() {
+        Map<String, String> restaurants = new LinkedHashMap<>();
+        for (MenuItemResponse item : items) {
+            restaurants.put(item.getSourceUrl(), item.getRestaurantName());
+        }
+        if (scrape != null) {
+            for (String sourceUrl : scrape.refreshedKeysBySourceUrl().keySet()) {
+                restaurants.put(sourceUrl, scrape.restaurants().get(sourceUrl));
+            }
+        }
+        return restaurants;
+    }
+}
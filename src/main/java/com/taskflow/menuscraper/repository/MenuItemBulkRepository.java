@@ -0,0 +1,257 @@
+package com.taskflow.menuscraper.repository;
+
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Repository
+public class MenuItemBulkRepository {
+
+    // A menu item to write: the request plus its row ID and resolved restaurant
+    public record MenuItemRow(UUID id, UUID restaurantId, MenuItemRequest item) {
+
+        // Stable identity of the item within its restaurant, the item key of upsert mode
+        public String itemKey() {
+            return item.getName().trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public record ItemKeyRow(UUID restaurantId, String itemKey, UUID menuItemId, String contentHashHex) {}
+
+    // A key whose content hash changed; menuItemId is the existing row unless inserted
+    public record ChangedKey(UUID restaurantId, String itemKey, UUID menuItemId, boolean inserted) {}
+
+    // An unchanged key whose row was refreshed, or whose row is gone
+    public record RefreshedKey(UUID restaurantId, String itemKey, boolean missing) {}
+
+    // First argument of the two-key advisory locks, so source URL locks cannot collide with
+    // advisory locks taken for anything else
+    private static final int SOURCE_URL_LOCK_CLASS = 0x6d656e75;
+
+    // Waits for the transaction-scoped lock of every source URL, in key order so that two
+    // batches sharing restaurants queue behind each other instead of deadlocking
+    private static final String LOCK_SOURCE_URLS_SQL =
+            "SELECT count(pg_advisory_xact_lock(" + SOURCE_URL_LOCK_CLASS + ", k)) " +
+            "FROM (SELECT DISTINCT hashtext(u) AS k FROM unnest(?::text[]) AS u ORDER BY k) AS keys";
+
+    // Existing restaurants are only written when their name changed. The final SELECT sees
+    // the table as it was before the statement, so it returns existing rows and the INSERT
+    // returns new ones, each source URL exactly once.
+    private static final String UPSERT_RESTAURANTS_SQL =
+            "WITH input AS (SELECT * FROM unnest(?::uuid[], ?::text[], ?::text[]) AS t(id, name, source_url)), " +
+            "inserted AS (INSERT INTO restaurants (id, name, source_url) SELECT id, name, source_url FROM input " +
+            "ON CONFLICT (source_url) DO NOTHING RETURNING id, source_url), " +
+            "renamed AS (UPDATE restaurants r SET name = i.name FROM input i " +
+            "WHERE r.source_url = i.source_url AND r.name <> i.name) " +
+            "SELECT id, source_url FROM inserted " +
+            "UNION ALL SELECT r.id, r.source_url FROM restaurants r JOIN input i ON i.source_url = r.source_url";
+
+    private static final String INSERT_MENU_ITEM_SQL =
+            "INSERT INTO menu_items (id, restaurant_id, name, description, price, currency, scraped_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_MENU_ITEM_SQL =
+            "UPDATE menu_items SET name = ?, description = ?, price = ?, currency = ?, scraped_at = ? " +
+            "WHERE id = ?";
+
+    // Moves rows of unchanged items that are older than the given time up to the current
+    // scrape, so retention does not retire items the restaurant still lists; younger rows are
+    // not written. Returns the keys whose row was refreshed and the keys whose row is gone.
+    private static final String REFRESH_MENU_ITEMS_SQL =
+            "WITH input AS (SELECT k.restaurant_id, k.item_key, k.menu_item_id FROM menu_item_keys k " +
+            "JOIN unnest(?::uuid[], ?::text[]) AS t(r, key) ON k.restaurant_id = t.r AND k.item_key = t.key), " +
+            "refreshed AS (UPDATE menu_items m SET scraped_at = ? FROM input i " +
+            "WHERE m.id = i.menu_item_id AND m.scraped_at < ? RETURNING i.restaurant_id, i.item_key) " +
+            "SELECT restaurant_id, item_key, false AS missing FROM refreshed " +
+            "UNION ALL SELECT i.restaurant_id, i.item_key, true FROM input i " +
+            "WHERE NOT EXISTS (SELECT 1 FROM menu_items m WHERE m.id = i.menu_item_id)";
+
+    private static final String REASSIGN_ITEM_KEY_SQL =
+            "UPDATE menu_item_keys SET menu_item_id = ? WHERE restaurant_id = ? AND item_key = ?";
+
+    // Keys with an unchanged hash hit the WHERE clause of DO UPDATE and are neither
+    // written nor returned; xmax = 0 tells fresh inserts apart from updates
+    private static final String UPSERT_ITEM_KEYS_SQL =
+            "INSERT INTO menu_item_keys (restaurant_id, item_key, menu_item_id, content_hash) " +
+            "SELECT r, k, i, decode(h, 'hex') FROM unnest(?::uuid[], ?::text[], ?::uuid[], ?::text[]) AS t(r, k, i, h) " +
+            "ON CONFLICT (restaurant_id, item_key) DO UPDATE SET content_hash = EXCLUDED.content_hash " +
+            "WHERE menu_item_keys.content_hash <> EXCLUDED.content_hash " +
+            "RETURNING restaurant_id, item_key, menu_item_id, (xmax = 0) AS inserted";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${menu-scraper.ingest.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    // Serializes the current transaction against every other transaction that writes one of
+    // these restaurants; the locks are released at commit or rollback
+    public void lockSourceUrls(Collection<String> sourceUrls) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LOCK_SOURCE_URLS_SQL);
+            ps.setArray(1, connection.createArrayOf("text", sourceUrls.toArray()));
+            return ps;
+        }, rs -> {});
+    }
+
+    // Inserts missing restaurants and renames existing ones in a single statement,
+    // returning the restaurant ID for every source URL. Callers must hold the source URL
+    // locks: a restaurant committed by someone else after the statement started would be
+    // skipped by both the INSERT and the SELECT.
+    public Map<String, UUID> upsertRestaurants(Map<String, String> namesBySourceUrl) {
+        // Sorted only to keep the input deterministic. Batches sharing a restaurant are kept
+        // apart by the source URL locks, which are taken in hashtext order, not by row order.
+        Map<String, String> sorted = new TreeMap<>(namesBySourceUrl);
+        int size = sorted.size();
+        UUID[] ids = new UUID[size];
+        String[] names = new String[size];
+        String[] sourceUrls = new String[size];
+
+        int i = 0;
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            ids[i] = UUID.randomUUID();
+            sourceUrls[i] = entry.getKey();
+            names[i] = entry.getValue();
+            i++;
+        }
+
+        Map<String, UUID> restaurantIds = new HashMap<>(size * 2);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPSERT_RESTAURANTS_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", ids));
+            ps.setArray(2, connection.createArrayOf("text", names));
+            ps.setArray(3, connection.createArrayOf("text", sourceUrls));
+            return ps;
+        }, rs -> {
+            restaurantIds.put(rs.getString("source_url"), rs.getObject("id", UUID.class));
+        });
+
+        return restaurantIds;
+    }
+
+    public void insertMenuItemRows(List<MenuItemRow> rows, LocalDateTime scrapedAt) {
+        Timestamp scrapedAtTimestamp = Timestamp.valueOf(scrapedAt);
+
+        jdbcTemplate.batchUpdate(INSERT_MENU_ITEM_SQL, rows, jdbcBatchSize, (ps, row) -> {
+            ps.setObject(1, row.id());
+            ps.setObject(2, row.restaurantId());
+            ps.setString(3, row.item().getName());
+            ps.setString(4, row.item().getDescription());
+            ps.setBigDecimal(5, row.item().getPrice());
+            ps.setString(6, row.item().getCurrency());
+            ps.setTimestamp(7, scrapedAtTimestamp);
+        });
+    }
+
+    // Returns the rows that matched nothing: their partition was retired after the item key
+    // was read
+    public List<MenuItemRow> updateMenuItemRows(List<MenuItemRow> rows, LocalDateTime scrapedAt) {
+        Timestamp scrapedAtTimestamp = Timestamp.valueOf(scrapedAt);
+
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_MENU_ITEM_SQL, rows, jdbcBatchSize, (ps, row) -> {
+            ps.setString(1, row.item().getName());
+            ps.setString(2, row.item().getDescription());
+            ps.setBigDecimal(3, row.item().getPrice());
+            ps.setString(4, row.item().getCurrency());
+            ps.setTimestamp(5, scrapedAtTimestamp);
+            ps.setObject(6, row.id());
+        });
+
+        List<MenuItemRow> missing = new ArrayList<>();
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    missing.add(rows.get(i));
+                }
+                i++;
+            }
+        }
+        return missing;
+    }
+
+    public List<RefreshedKey> refreshMenuItemRows(List<ItemKeyRow> keys, LocalDateTime scrapedAt,
+                                                  LocalDateTime olderThan) {
+        UUID[] restaurantIds = new UUID[keys.size()];
+        String[] itemKeys = new String[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            restaurantIds[i] = keys.get(i).restaurantId();
+            itemKeys[i] = keys.get(i).itemKey();
+        }
+
+        List<RefreshedKey> refreshed = new ArrayList<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(REFRESH_MENU_ITEMS_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", restaurantIds));
+            ps.setArray(2, connection.createArrayOf("text", itemKeys));
+            ps.setTimestamp(3, Timestamp.valueOf(scrapedAt));
+            ps.setTimestamp(4, Timestamp.valueOf(olderThan));
+            return ps;
+        }, rs -> {
+            refreshed.add(new RefreshedKey(
+                    rs.getObject("restaurant_id", UUID.class),
+                    rs.getString("item_key"),
+                    rs.getBoolean("missing")));
+        });
+        return refreshed;
+    }
+
+    // Points the keys at new rows. Retention only deletes keys that still point into the
+    // partition it retired, so these survive it.
+    public void reassignItemKeys(List<ItemKeyRow> keys) {
+        jdbcTemplate.batchUpdate(REASSIGN_ITEM_KEY_SQL, keys, jdbcBatchSize, (ps, key) -> {
+            ps.setObject(1, key.menuItemId());
+            ps.setObject(2, key.restaurantId());
+            ps.setString(3, key.itemKey());
+        });
+    }
+
+    // Upserts item keys in a single statement and returns only the keys that are new or
+    // whose content hash changed
+    public List<ChangedKey> upsertItemKeys(List<ItemKeyRow> keys) {
+        int size = keys.size();
+        UUID[] restaurantIds = new UUID[size];
+        String[] itemKeys = new String[size];
+        UUID[] menuItemIds = new UUID[size];
+        String[] hashes = new String[size];
+        for (int i = 0; i < size; i++) {
+            ItemKeyRow key = keys.get(i);
+            restaurantIds[i] = key.restaurantId();
+            itemKeys[i] = key.itemKey();
+            menuItemIds[i] = key.menuItemId();
+            hashes[i] = key.contentHashHex();
+        }
+
+        List<ChangedKey> changed = new ArrayList<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPSERT_ITEM_KEYS_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", restaurantIds));
+            ps.setArray(2, connection.createArrayOf("text", itemKeys));
+            ps.setArray(3, connection.createArrayOf("uuid", menuItemIds));
+            ps.setArray(4, connection.createArrayOf("text", hashes));
+            return ps;
+        }, rs -> {
+            changed.add(new ChangedKey(
+                    rs.getObject("restaurant_id", UUID.class),
+                    rs.getString("item_key"),
+                    rs.getObject("menu_item_id", UUID.class),
+                    rs.getBoolean("inserted")));
+        });
+
+        return changed;
+    }
+}
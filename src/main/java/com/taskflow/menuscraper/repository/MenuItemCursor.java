@@ -0,0 +1,43 @@
+package com.taskflow.menuscraper.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+// Keyset position in the (scraped_at DESC, id DESC) ordering, handed to clients as an
+// opaque URL-safe token
+public class MenuItemCursor {
+
+    private final LocalDateTime scrapedAt;
+    private final UUID id;
+
+    public MenuItemCursor(LocalDateTime scrapedAt, UUID id) {
+        this.scrapedAt = scrapedAt;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = scrapedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MenuItemCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new MenuItemCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public LocalDateTime getScrapedAt() { return scrapedAt; }
+    public UUID getId() { return id; }
+}
@@ -0,0 +1,65 @@
+package com.taskflow.menuscraper.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+// Filters of the menu item list, page and export endpoints, normalized so that equal
+// filters are equal records. The restaurant name and source URL filters match either one;
+// everything else must match as well. scraped_at is [from, to), prices are inclusive.
+public record MenuItemFilter(
+        String restaurantName,
+        String sourceUrl,
+        LocalDateTime scrapedFrom,
+        LocalDateTime scrapedTo,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        String currency) {
+
+    public static MenuItemFilter of(String restaurantName, String sourceUrl,
+                                    LocalDateTime scrapedFrom, LocalDateTime scrapedTo,
+                                    BigDecimal minPrice, BigDecimal maxPrice, String currency) {
+        if (scrapedFrom != null && scrapedTo != null && !scrapedFrom.isBefore(scrapedTo)) {
+            throw new IllegalArgumentException("scraped_from must be before scraped_to");
+        }
+        if ((minPrice != null && minPrice.signum() < 0) || (maxPrice != null && maxPrice.signum() < 0)) {
+            throw new IllegalArgumentException("Price bounds must be non-negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("min_price must not be greater than max_price");
+        }
+
+        String normalizedCurrency = trimToNull(currency);
+        // Prices in different currencies are not comparable
+        if ((minPrice != null || maxPrice != null) && normalizedCurrency == null) {
+            throw new IllegalArgumentException("A price range requires a currency");
+        }
+
+        String normalizedName = trimToNull(restaurantName);
+        return new MenuItemFilter(
+                normalizedName == null ? null : normalizedName.toLowerCase(Locale.ROOT),
+                trimToNull(sourceUrl),
+                scrapedFrom,
+                scrapedTo,
+                minPrice == null ? null : minPrice.stripTrailingZeros(),
+                maxPrice == null ? null : maxPrice.stripTrailingZeros(),
+                normalizedCurrency == null ? null : normalizedCurrency.toUpperCase(Locale.ROOT));
+    }
+
+    public boolean hasRestaurantFilter() {
+        return restaurantName != null || sourceUrl != null;
+    }
+
+    // Whether items of this restaurant can pass the restaurant name and source URL filters
+    public boolean matchesRestaurant(String name, String url) {
+        if (!hasRestaurantFilter()) {
+            return true;
+        }
+        return (restaurantName != null && name.toLowerCase(Locale.ROOT).contains(restaurantName))
+                || url.equals(sourceUrl);
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+}
@@ -0,0 +1,15 @@
+package com.taskflow.menuscraper.repository;
+
+import com.taskflow.menuscraper.dto.MenuItemResponse;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface MenuItemRepositoryCustom {
+
+    // Newest first; after may be null for the first page
+    List<MenuItemResponse> findPage(MenuItemFilter filter, MenuItemCursor after, int limit);
+
+    // Must be consumed and closed inside a transaction
+    Stream<MenuItemResponse> streamAll(MenuItemFilter filter);
+}
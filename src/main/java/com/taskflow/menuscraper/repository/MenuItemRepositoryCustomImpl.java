@@ -0,0 +1,109 @@
+package com.taskflow.menuscraper.repository;
+
+import com.taskflow.menuscraper.dto.MenuItemResponse;
+import com.taskflow.menuscraper.entity.MenuItem;
+import com.taskflow.menuscraper.entity.MenuItem_;
+import com.taskflow.menuscraper.entity.Restaurant;
+import com.taskflow.menuscraper.entity.Restaurant_;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class MenuItemRepositoryCustomImpl implements MenuItemRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${menu-scraper.query.export-fetch-size:500}")
+    private int exportFetchSize;
+
+    @Override
+    public List<MenuItemResponse> findPage(MenuItemFilter filter, MenuItemCursor after, int limit) {
+        return entityManager.createQuery(buildQuery(filter, after))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<MenuItemResponse> streamAll(MenuItemFilter filter) {
+        return entityManager.createQuery(buildQuery(filter, null))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .getResultStream();
+    }
+
+    // Projects straight into MenuItemResponse over a single join, so no entities are
+    // managed and no lazy restaurant loads are triggered. Each filter has an index: the
+    // restaurant filters go through idx_menu_items_restaurant_scraped_at, scraped_at bounds
+    // prune partitions and use idx_menu_items_scraped_at_id, currency and price ranges use
+    // idx_menu_items_currency_price.
+    private CriteriaQuery<MenuItemResponse> buildQuery(MenuItemFilter filter, MenuItemCursor after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MenuItemResponse> query = cb.createQuery(MenuItemResponse.class);
+        Root<MenuItem> item = query.from(MenuItem.class);
+        Join<MenuItem, Restaurant> restaurant = item.join(MenuItem_.restaurant, JoinType.INNER);
+
+        List<Predicate> where = new ArrayList<>();
+
+        List<Predicate> restaurantFilters = new ArrayList<>();
+        if (filter.restaurantName() != null) {
+            restaurantFilters.add(cb.like(cb.lower(restaurant.get(Restaurant_.name)),
+                    "%" + filter.restaurantName() + "%"));
+        }
+        if (filter.sourceUrl() != null) {
+            restaurantFilters.add(cb.equal(restaurant.get(Restaurant_.sourceUrl), filter.sourceUrl()));
+        }
+        if (!restaurantFilters.isEmpty()) {
+            where.add(cb.or(restaurantFilters.toArray(new Predicate[0])));
+        }
+
+        if (filter.scrapedFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(item.get(MenuItem_.scrapedAt), filter.scrapedFrom()));
+        }
+        if (filter.scrapedTo() != null) {
+            where.add(cb.lessThan(item.get(MenuItem_.scrapedAt), filter.scrapedTo()));
+        }
+        if (filter.currency() != null) {
+            where.add(cb.equal(item.get(MenuItem_.currency), filter.currency()));
+        }
+        if (filter.minPrice() != null) {
+            where.add(cb.greaterThanOrEqualTo(item.get(MenuItem_.price), filter.minPrice()));
+        }
+        if (filter.maxPrice() != null) {
+            where.add(cb.lessThanOrEqualTo(item.get(MenuItem_.price), filter.maxPrice()));
+        }
+
+        if (after != null) {
+            // The plain upper bound is what PostgreSQL can use as an index condition (and for
+            // partition pruning); the OR below only breaks ties within the cursor's scraped_at
+            where.add(cb.lessThanOrEqualTo(item.get(MenuItem_.scrapedAt), after.getScrapedAt()));
+            where.add(cb.or(
+                    cb.lessThan(item.get(MenuItem_.scrapedAt), after.getScrapedAt()),
+                    cb.and(
+                            cb.equal(item.get(MenuItem_.scrapedAt), after.getScrapedAt()),
+                            cb.lessThan(item.get(MenuItem_.id), after.getId()))));
+        }
+
+        return query.select(cb.construct(MenuItemResponse.class,
+                        item.get(MenuItem_.id),
+                        restaurant.get(Restaurant_.name),
+                        restaurant.get(Restaurant_.sourceUrl),
+                        item.get(MenuItem_.name),
+                        item.get(MenuItem_.description),
+                        item.get(MenuItem_.price),
+                        item.get(MenuItem_.currency),
+                        item.get(MenuItem_.scrapedAt)))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.desc(item.get(MenuItem_.scrapedAt)), cb.desc(item.get(MenuItem_.id)));
+    }
+}
@@ -0,0 +1,93 @@
+package com.taskflow.menuscraper.repository;
+
+import com.taskflow.menuscraper.dto.PriceHistoryResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class PriceObservationRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO price_observations (menu_item_id, restaurant_id, item_key, price, currency, observed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // The observed_at bounds let the planner prune partitions outside the window
+    private static final String OBSERVATIONS_SQL =
+            "SELECT menu_item_id, item_key, price, currency, observed_at FROM price_observations " +
+            "WHERE %s AND observed_at >= ? AND observed_at < ? " +
+            "ORDER BY observed_at " +
+            "LIMIT ?";
+
+    private static final String STATS_SQL =
+            "SELECT currency, count(*) AS observations, min(price) AS min_price, max(price) AS max_price, " +
+            "round(avg(price), 2) AS avg_price FROM price_observations " +
+            "WHERE %s AND observed_at >= ? AND observed_at < ? " +
+            "GROUP BY currency " +
+            "ORDER BY currency";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${menu-scraper.ingest.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    public void insertObservations(List<MenuItemBulkRepository.MenuItemRow> rows, LocalDateTime observedAt) {
+        Timestamp observedAtTimestamp = Timestamp.valueOf(observedAt);
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, jdbcBatchSize, (ps, row) -> {
+            ps.setObject(1, row.id());
+            ps.setObject(2, row.restaurantId());
+            ps.setString(3, row.itemKey());
+            ps.setBigDecimal(4, row.item().getPrice());
+            ps.setString(5, row.item().getCurrency());
+            ps.setTimestamp(6, observedAtTimestamp);
+        });
+    }
+
+    // A null item key selects the whole restaurant
+    public List<PriceHistoryResponse.Observation> findObservations(UUID restaurantId, String itemKey,
+                                                                   LocalDateTime from, LocalDateTime to, int limit) {
+        return jdbcTemplate.query(String.format(OBSERVATIONS_SQL, condition(itemKey)),
+                (rs, rowNum) -> new PriceHistoryResponse.Observation(
+                        rs.getObject("menu_item_id", UUID.class),
+                        rs.getString("item_key"),
+                        rs.getBigDecimal("price"),
+                        rs.getString("currency"),
+                        rs.getTimestamp("observed_at").toLocalDateTime()),
+                args(restaurantId, itemKey, Timestamp.valueOf(from), Timestamp.valueOf(to), limit));
+    }
+
+    public List<PriceHistoryResponse.CurrencyStats> findStats(UUID restaurantId, String itemKey,
+                                                              LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(String.format(STATS_SQL, condition(itemKey)),
+                (rs, rowNum) -> new PriceHistoryResponse.CurrencyStats(
+                        rs.getString("currency"),
+                        rs.getLong("observations"),
+                        rs.getBigDecimal("min_price"),
+                        rs.getBigDecimal("max_price"),
+                        rs.getBigDecimal("avg_price")),
+                args(restaurantId, itemKey, Timestamp.valueOf(from), Timestamp.valueOf(to)));
+    }
+
+    private static String condition(String itemKey) {
+        return itemKey == null ? "restaurant_id = ?" : "restaurant_id = ? AND item_key = ?";
+    }
+
+    private static Object[] args(UUID restaurantId, String itemKey, Object... rest) {
+        List<Object> args = new ArrayList<>();
+        args.add(restaurantId);
+        if (itemKey != null) {
+            args.add(itemKey);
+        }
+        args.addAll(List.of(rest));
+        return args.toArray();
+    }
+}
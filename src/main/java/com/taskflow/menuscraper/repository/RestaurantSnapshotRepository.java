@@ -0,0 +1,105 @@
+package com.taskflow.menuscraper.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class RestaurantSnapshotRepository {
+
+    // Ingest already holds the source URL locks by now; the row locks keep the snapshot safe
+    // from writers that do not take them. NO KEY UPDATE does not conflict with the KEY SHARE
+    // locks that menu_items inserts take on their restaurant.
+    private static final String LOCK_RESTAURANTS_SQL =
+            "SELECT id, source_url FROM restaurants WHERE source_url = ANY(?::text[]) " +
+            "ORDER BY source_url FOR NO KEY UPDATE";
+
+    private static final String FIND_MENUS_SQL =
+            "SELECT restaurant_id, menu::text AS menu, scrape_id FROM restaurant_snapshots " +
+            "WHERE restaurant_id = ANY(?::uuid[])";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO restaurant_snapshots (restaurant_id, item_count, last_scraped_at, price_stats, menu, " +
+            "scrape_id, updated_at) " +
+            "VALUES (?, ?, ?, ?::jsonb, ?::jsonb, ?, ?) " +
+            "ON CONFLICT (restaurant_id) DO UPDATE SET item_count = EXCLUDED.item_count, " +
+            "last_scraped_at = EXCLUDED.last_scraped_at, price_stats = EXCLUDED.price_stats, " +
+            "menu = EXCLUDED.menu, scrape_id = EXCLUDED.scrape_id, updated_at = EXCLUDED.updated_at";
+
+    // The response document is assembled by PostgreSQL, so serving it never parses the menu
+    private static final String FIND_JSON_SQL =
+            "SELECT json_build_object(" +
+            "'restaurant_name', r.name, " +
+            "'source_url', r.source_url, " +
+            "'item_count', s.item_count, " +
+            "'last_scraped_at', to_char(s.last_scraped_at, 'YYYY-MM-DD\"T\"HH24:MI:SS'), " +
+            "'updated_at', to_char(s.updated_at, 'YYYY-MM-DD\"T\"HH24:MI:SS'), " +
+            "'price_stats', s.price_stats, " +
+            "'menu', s.menu)::text " +
+            "FROM restaurants r JOIN restaurant_snapshots s ON s.restaurant_id = r.id " +
+            "WHERE r.source_url = ?";
+
+    public record SnapshotRow(UUID restaurantId, int itemCount, LocalDateTime lastScrapedAt,
+                              String priceStatsJson, String menuJson, UUID scrapeId) {}
+
+    public record StoredMenu(String menuJson, UUID scrapeId) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Locks the restaurants' rows in source URL order until the transaction ends and returns
+    // their IDs keyed by source URL
+    public Map<String, UUID> lockRestaurants(List<String> sourceUrls) {
+        Map<String, UUID> ids = new LinkedHashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LOCK_RESTAURANTS_SQL);
+            ps.setArray(1, connection.createArrayOf("text", sourceUrls.toArray()));
+            return ps;
+        }, rs -> {
+            ids.put(rs.getString("source_url"), rs.getObject("id", UUID.class));
+        });
+        return ids;
+    }
+
+    // Must run after lockRestaurants, as a separate statement, so it sees snapshots
+    // committed by transactions that held the locks before us
+    public Map<UUID, StoredMenu> findMenus(List<UUID> restaurantIds) {
+        Map<UUID, StoredMenu> menus = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(FIND_MENUS_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", restaurantIds.toArray()));
+            return ps;
+        }, rs -> {
+            menus.put(rs.getObject("restaurant_id", UUID.class),
+                    new StoredMenu(rs.getString("menu"), rs.getObject("scrape_id", UUID.class)));
+        });
+        return menus;
+    }
+
+    public void upsertSnapshots(List<SnapshotRow> rows) {
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, row.restaurantId());
+            ps.setInt(2, row.itemCount());
+            ps.setTimestamp(3, Timestamp.valueOf(row.lastScrapedAt()));
+            ps.setString(4, row.priceStatsJson());
+            ps.setString(5, row.menuJson());
+            ps.setObject(6, row.scrapeId());
+            ps.setTimestamp(7, updatedAt);
+        });
+    }
+
+    public Optional<String> findSnapshotJson(String sourceUrl) {
+        return jdbcTemplate.queryForList(FIND_JSON_SQL, String.class, sourceUrl).stream().findFirst();
+    }
+}
@@ -0,0 +1,65 @@
+package com.taskflow.menuscraper.repository;
+
+import com.taskflow.menuscraper.dto.MenuItemSearchResult;
+import com.taskflow.menuscraper.dto.RestaurantSearchResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+// Ranked search over the pg_trgm GIN indexes created in V3__trigram_search.sql. The <%
+// (word similarity) and LIKE predicates are both index-assisted; score orders the results.
+@Repository
+public class SearchRepository {
+
+    private static final String RESTAURANT_SEARCH_SQL =
+            "SELECT r.id, r.name, r.source_url, word_similarity(?, lower(r.name)) AS score " +
+            "FROM restaurants r " +
+            "WHERE ? <% lower(r.name) OR lower(r.name) LIKE ? " +
+            "ORDER BY score DESC, r.name " +
+            "LIMIT ?";
+
+    private static final String MENU_ITEM_SEARCH_SQL =
+            "SELECT mi.id, r.name AS restaurant_name, r.source_url, mi.name, mi.description, " +
+            "mi.price, mi.currency, mi.scraped_at, " +
+            // A description match counts for less than a match on the item name
+            "greatest(word_similarity(?, mi.name), " +
+            "coalesce(word_similarity(?, mi.description), 0) * 0.5) AS score " +
+            "FROM menu_items mi " +
+            "JOIN restaurants r ON r.id = mi.restaurant_id " +
+            "WHERE ? <% mi.name OR ? <% mi.description " +
+            "ORDER BY score DESC, mi.scraped_at DESC " +
+            "LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public List<RestaurantSearchResult> searchRestaurants(String query, int limit) {
+        String term = query.toLowerCase();
+        return jdbcTemplate.query(RESTAURANT_SEARCH_SQL, (rs, rowNum) -> new RestaurantSearchResult(
+                rs.getObject("id", UUID.class),
+                rs.getString("name"),
+                rs.getString("source_url"),
+                rs.getDouble("score")
+        ), term, term, "%" + term + "%", limit);
+    }
+
+    public List<MenuItemSearchResult> searchMenuItems(String query, int limit) {
+        return jdbcTemplate.query(MENU_ITEM_SEARCH_SQL, (rs, rowNum) -> {
+            Timestamp scrapedAt = rs.getTimestamp("scraped_at");
+            return new MenuItemSearchResult(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("restaurant_name"),
+                    rs.getString("source_url"),
+                    rs.getString("name"),
+                    rs.getString("description"),
+                    rs.getBigDecimal("price"),
+                    rs.getString("currency"),
+                    scrapedAt == null ? null : scrapedAt.toLocalDateTime(),
+                    rs.getDouble("score"));
+        }, query, query, query, query, limit);
+    }
+}
@@ -0,0 +1,100 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import com.taskflow.menuscraper.dto.PartialBatchResponse;
+import com.taskflow.menuscraper.dto.UpsertBatchResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class IngestJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final UUID id = UUID.randomUUID();
+    private final IngestMode mode;
+    private final boolean partial;
+    private final int totalRequested;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    // Released once the job has run so finished jobs only keep their summary
+    private volatile List<MenuItemRequest> items;
+
+    private volatile Status status = Status.QUEUED;
+    // Items whose outcome is known: committed, rejected or rolled back. Only the worker
+    // running the job writes it.
+    private volatile int processedCount;
+    private volatile int savedCount;
+    private volatile UpsertBatchResult upsertResult;
+    private volatile PartialBatchResponse partialResult;
+    private volatile String error;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    IngestJob(List<MenuItemRequest> items, IngestMode mode, boolean partial) {
+        this.items = items;
+        this.mode = mode;
+        this.partial = partial;
+        this.totalRequested = items.size();
+    }
+
+    void markRunning() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void addProcessed(int count) {
+        processedCount += count;
+    }
+
+    void markCompleted(int savedCount) {
+        this.savedCount = savedCount;
+        finish(Status.COMPLETED);
+    }
+
+    void markCompleted(UpsertBatchResult result) {
+        this.upsertResult = result;
+        this.savedCount = result.getInsertedCount() + result.getUpdatedCount();
+        finish(Status.COMPLETED);
+    }
+
+    void markCompleted(PartialBatchResponse result) {
+        this.partialResult = result;
+        this.upsertResult = result.getUpsertResult();
+        this.savedCount = result.getSavedCount();
+        finish(Status.COMPLETED);
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        finish(Status.FAILED);
+    }
+
+    private void finish(Status finalStatus) {
+        items = null;
+        processedCount = totalRequested;
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    List<MenuItemRequest> getItems() { return items; }
+
+    public UUID getId() { return id; }
+    public IngestMode getMode() { return mode; }
+    public boolean isPartial() { return partial; }
+    public int getTotalRequested() { return totalRequested; }
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public Status getStatus() { return status; }
+    public int getProcessedCount() { return processedCount; }
+    public int getSavedCount() { return savedCount; }
+    public UpsertBatchResult getUpsertResult() { return upsertResult; }
+    public PartialBatchResponse getPartialResult() { return partialResult; }
+    public String getError() { return error; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+}
@@ -0,0 +1,131 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class IngestJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestJobService.class);
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private PartialBatchService partialBatchService;
+
+    @Autowired
+    private MenuScraperMetrics metrics;
+
+    @Value("${menu-scraper.ingest.async.workers:4}")
+    private int configuredWorkers;
+
+    @Value("${menu-scraper.ingest.async.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${menu-scraper.ingest.async.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int datasourcePoolSize;
+
+    private final Map<UUID, IngestJob> jobs = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private BlockingQueue<IngestJob> queue;
+
+    @PostConstruct
+    void startWorkers() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        metrics.registerIngestQueue(queue);
+
+        // Each worker holds a connection for the whole batch, so more workers than
+        // pooled connections would only make them wait on Hikari
+        int workerCount = Math.max(1, Math.min(configuredWorkers, datasourcePoolSize));
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofVirtual().name("ingest-worker-" + i).start(this::drainQueue));
+        }
+        logger.info("Started {} ingest workers (queue capacity {})", workerCount, queueCapacity);
+    }
+
+    @PreDestroy
+    void stopWorkers() {
+        workers.forEach(Thread::interrupt);
+    }
+
+    // Returns empty when the queue is full so the caller can apply back-pressure
+    public Optional<IngestJob> submit(List<MenuItemRequest> items, IngestMode mode, boolean partial) {
+        IngestJob job = new IngestJob(items, mode, partial);
+        jobs.put(job.getId(), job);
+        if (!queue.offer(job)) {
+            jobs.remove(job.getId());
+            metrics.recordRejected("queue_full", items.size());
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    public Optional<IngestJob> getJob(UUID id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void drainQueue() {
+        while (!Thread.currentThread().isInterrupted()) {
+            IngestJob job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            run(job);
+        }
+    }
+
+    private void run(IngestJob job) {
+        job.markRunning();
+        try {
+            if (job.isPartial()) {
+                job.markCompleted(partialBatchService.save(job.getItems(), job.getMode(), job::addProcessed));
+            } else if (job.getMode() == IngestMode.UPSERT) {
+                job.markCompleted(menuItemService.upsertBatch(job.getItems()));
+            } else {
+                job.markCompleted(menuItemService.saveBatch(job.getItems()));
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ingest job {} rejected: {}", job.getId(), e.getMessage());
+            job.markFailed(e.getMessage());
+        } catch (Exception e) {
+            // Database messages stay in the log, as for synchronous batches
+            logger.error("Ingest job {} failed", job.getId(), e);
+            job.markFailed("Failed to process batch request");
+        }
+    }
+
+    // Runs on a schedule, so finished jobs expire even when no new jobs are submitted
+    @Scheduled(fixedDelayString = "${menu-scraper.ingest.async.job-eviction-interval-ms:60000}")
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,19 @@
+package com.taskflow.menuscraper.service;
+
+public enum IngestMode {
+
+    // Every item becomes a new row
+    APPEND,
+
+    // Items are matched per restaurant by name; only new or changed items are written
+    UPSERT;
+
+    public static IngestMode fromParam(String value) {
+        for (IngestMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown ingest mode: " + value);
+    }
+}
@@ -0,0 +1,221 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.dto.MenuItemChange;
+import com.taskflow.menuscraper.dto.MenuItemResponse;
+import com.taskflow.menuscraper.event.MenuItemsSavedEvent;
+import com.taskflow.menuscraper.repository.MenuItemFilter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Committed menu item changes, kept in a fixed-size ring buffer and streamed to
+// subscribers over Server-Sent Events. Each subscriber only holds its position in the ring,
+// so a slow consumer costs no memory: once it falls more than the buffer size behind, the
+// oldest changes are dropped for it and it is told how many it missed.
+//
+// Event IDs are "<feed>-<sequence>". The feed ID changes on every start, so clients that
+// resume with an ID from before a restart are told to re-sync instead of silently missing
+// what was committed in between.
+@Service
+public class MenuChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(MenuChangeFeed.class);
+
+    private final String feedId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final MenuItemChange[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    // Sequence of the next change; the first change is 1
+    private long nextSequence = 1;
+
+    private final int maxSubscribers;
+    private final int readBatchSize;
+    private final long heartbeatMillis;
+    private final long emitterTimeoutMillis;
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Set<Thread> subscribers = ConcurrentHashMap.newKeySet();
+
+    // A batch of changes after a position; missed counts changes that were already dropped
+    record Batch(List<MenuItemChange> changes, long missed, long last) {}
+
+    public MenuChangeFeed(@Value("${menu-scraper.change-feed.capacity:10000}") int capacity,
+                          @Value("${menu-scraper.change-feed.max-subscribers:256}") int maxSubscribers,
+                          @Value("${menu-scraper.change-feed.read-batch-size:500}") int readBatchSize,
+                          @Value("${menu-scraper.change-feed.heartbeat-ms:15000}") long heartbeatMillis,
+                          @Value("${menu-scraper.change-feed.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                          MenuScraperMetrics metrics) {
+        this.ring = new MenuItemChange[capacity];
+        this.maxSubscribers = maxSubscribers;
+        this.readBatchSize = readBatchSize;
+        this.heartbeatMillis = heartbeatMillis;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        metrics.registerChangeFeedSubscribers(subscriberCount);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMenuItemsSaved(MenuItemsSavedEvent event) {
+        List<MenuItemResponse> items = event.getItems();
+        lock.lock();
+        try {
+            // Inserted items come first in the event, upsert-mode updates after them
+            for (int i = 0; i < items.size(); i++) {
+                String change = i < event.getInsertedCount() ? MenuItemChange.INSERTED : MenuItemChange.UPDATED;
+                ring[(int) (nextSequence % ring.length)] = new MenuItemChange(nextSequence, change, items.get(i));
+                nextSequence++;
+            }
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Waits up to timeoutMillis for changes after the given sequence
+    Batch read(long after, int max, long timeoutMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (nextSequence - 1 <= after && nanos > 0) {
+                nanos = appended.awaitNanos(nanos);
+            }
+
+            long latest = nextSequence - 1;
+            long oldest = Math.max(1, nextSequence - ring.length);
+            long from = Math.max(after + 1, oldest);
+            long to = Math.min(latest, from + max - 1);
+            List<MenuItemChange> changes = new ArrayList<>((int) Math.max(0, to - from + 1));
+            for (long sequence = from; sequence <= to; sequence++) {
+                changes.add(ring[(int) (sequence % ring.length)]);
+            }
+            return new Batch(changes, Math.max(0, from - after - 1), Math.max(after, to));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Streams changes matching the filter's restaurant name and source URL, starting after
+    // lastEventId or, without one, with the next commit. Empty when the subscriber limit is
+    // reached.
+    public Optional<SseEmitter> subscribe(MenuItemFilter filter, String lastEventId) {
+        Position start = startPosition(lastEventId);
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Thread thread = Thread.ofVirtual().name("change-feed-subscriber").unstarted(() -> {
+            try {
+                stream(emitter, filter, start);
+            } finally {
+                subscribers.remove(Thread.currentThread());
+                subscriberCount.decrementAndGet();
+            }
+        });
+        // Stops the stream when the client goes away or the emitter times out
+        emitter.onCompletion(thread::interrupt);
+        emitter.onTimeout(thread::interrupt);
+        emitter.onError(error -> thread.interrupt());
+        subscribers.add(thread);
+        thread.start();
+        return Optional.of(emitter);
+    }
+
+    private record Position(long after, boolean reset) {}
+
+    private Position startPosition(String lastEventId) {
+        lock.lock();
+        try {
+            long latest = nextSequence - 1;
+            if (lastEventId == null || lastEventId.isBlank()) {
+                return new Position(latest, false);
+            }
+
+            int separator = lastEventId.lastIndexOf('-');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid event ID: " + lastEventId);
+            }
+            if (!lastEventId.substring(0, separator).equals(feedId)) {
+                // Issued before a restart: replay whatever is still buffered
+                return new Position(Math.max(0, nextSequence - ring.length - 1), true);
+            }
+            try {
+                return new Position(Math.min(Long.parseLong(lastEventId.substring(separator + 1)), latest), false);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid event ID: " + lastEventId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void stream(SseEmitter emitter, MenuItemFilter filter, Position start) {
+        try {
+            if (start.reset()) {
+                emitter.send(SseEmitter.event().name("reset")
+                        .data(Map.of("oldest_sequence", start.after() + 1), MediaType.APPLICATION_JSON));
+            }
+
+            long position = start.after();
+            long lastSent = System.nanoTime();
+            while (!Thread.currentThread().isInterrupted()) {
+                Batch batch = read(position, readBatchSize, heartbeatMillis);
+                if (batch.missed() > 0) {
+                    emitter.send(SseEmitter.event().name("gap")
+                            .data(Map.of("missed", batch.missed()), MediaType.APPLICATION_JSON));
+                    lastSent = System.nanoTime();
+                }
+                for (MenuItemChange change : batch.changes()) {
+                    MenuItemResponse item = change.getItem();
+                    if (filter.matchesRestaurant(item.getRestaurantName(), item.getSourceUrl())) {
+                        emitter.send(SseEmitter.event()
+                                .id(feedId + "-" + change.getSequence())
+                                .name("menu-item")
+                                .data(change, MediaType.APPLICATION_JSON));
+                        lastSent = System.nanoTime();
+                    }
+                }
+                if (System.nanoTime() - lastSent >= TimeUnit.MILLISECONDS.toNanos(heartbeatMillis)) {
+                    // Keeps proxies from closing an idle connection and detects dead clients
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    lastSent = System.nanoTime();
+                }
+                position = batch.last();
+            }
+        } catch (InterruptedException e) {
+            // Completed, timed out or shutting down
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter was already completed
+            logger.debug("Change feed subscriber stopped: {}", e.getMessage());
+        }
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            // Already completed
+        }
+    }
+
+    @PreDestroy
+    void closeSubscribers() {
+        subscribers.forEach(Thread::interrupt);
+    }
+}
@@ -0,0 +1,57 @@
+package com.taskflow.menuscraper.service;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Comparator;
+import java.util.List;
+
+// Encodings of GET /api/menu-items, picked from the Accept header
+public enum MenuItemFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+
+    CBOR(MediaType.APPLICATION_CBOR),
+
+    // Binary JSON with back-references for repeated strings such as restaurant names
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile"));
+
+    private final MediaType mediaType;
+
+    MenuItemFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    // First acceptable format in the client's order of preference; JSON for */*, a missing
+    // header or one that lists nothing we produce
+    public static MenuItemFormat fromAccept(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        // Stable, so types with equal quality keep the client's order
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (MenuItemFormat format : values()) {
+                if (mediaType.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
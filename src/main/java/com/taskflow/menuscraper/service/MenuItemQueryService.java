@@ -0,0 +1,87 @@
+package com.taskflow.menuscraper.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.taskflow.menuscraper.config.JacksonConfig;
+import com.taskflow.menuscraper.dto.MenuItemGroupResponse;
+import com.taskflow.menuscraper.dto.MenuItemPageResponse;
+import com.taskflow.menuscraper.dto.MenuItemResponse;
+import com.taskflow.menuscraper.repository.MenuItemFilter;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Serves GET /api/menu-items from MenuQueryCache. Deliberately not transactional so a cache
+// hit never borrows a database connection.
+@Service
+public class MenuItemQueryService {
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private MenuQueryCache menuQueryCache;
+
+    @Autowired
+    private MenuScraperMetrics metrics;
+
+    private final Map<MenuItemFormat, ObjectMapper> mappers = new EnumMap<>(MenuItemFormat.class);
+
+    public MenuItemQueryService(ObjectMapper objectMapper) {
+        mappers.put(MenuItemFormat.JSON, objectMapper);
+        mappers.put(MenuItemFormat.CBOR, JacksonConfig.configure(new CBORMapper()));
+        // Shared string values make repeated restaurant names and currencies back-references
+        mappers.put(MenuItemFormat.SMILE, JacksonConfig.configure(SmileMapper.builder(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build()).build()));
+    }
+
+    public MenuQueryCache.CachedResponse getMenuItems(MenuItemFilter filter, MenuItemFormat format, boolean grouped)
+            throws JsonProcessingException {
+        Timer.Sample sample = metrics.startQuery();
+        MenuQueryCache.Key key = MenuQueryCache.Key.of(filter, format, grouped);
+        MenuQueryCache.CachedResponse cached = menuQueryCache.get(key);
+        if (cached != null) {
+            metrics.stopQuery(sample, "list", filter, "hit");
+            return cached;
+        }
+
+        long generation = menuQueryCache.currentGeneration();
+        MenuItemPageResponse page = menuItemService.getMenuItems(filter);
+        List<MenuItemResponse> items = page.getItems();
+
+        Set<String> sourceUrls = new HashSet<>();
+        for (MenuItemResponse item : items) {
+            sourceUrls.add(item.getSourceUrl());
+        }
+        Object body = grouped ? group(items) : items;
+        MenuQueryCache.CachedResponse response =
+                menuQueryCache.put(key, generation, mappers.get(format).writeValueAsBytes(body), sourceUrls,
+                        page.getNextCursor());
+        metrics.stopQuery(sample, "list", filter, "miss");
+        return response;
+    }
+
+    // Keeps the query's order within each restaurant; restaurants appear in order of their
+    // first item
+    private static List<MenuItemGroupResponse> group(List<MenuItemResponse> items) {
+        Map<String, MenuItemGroupResponse> groups = new LinkedHashMap<>();
+        for (MenuItemResponse item : items) {
+            groups.computeIfAbsent(item.getSourceUrl(),
+                            url -> new MenuItemGroupResponse(item.getRestaurantName(), url))
+                    .getItems().add(new MenuItemGroupResponse.Item(item));
+        }
+        return List.copyOf(groups.values());
+    }
+}
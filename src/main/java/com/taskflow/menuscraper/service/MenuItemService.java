@@ -1,22 +1,50 @@
 package com.taskflow.menuscraper.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskflow.menuscraper.dto.MenuItemPageResponse;
 import com.taskflow.menuscraper.dto.MenuItemRequest;
 import com.taskflow.menuscraper.dto.MenuItemResponse;
+import com.taskflow.menuscraper.dto.UpsertBatchResult;
 import com.taskflow.menuscraper.entity.Restaurant;
 import com.taskflow.menuscraper.entity.MenuItem;
+import com.taskflow.menuscraper.event.MenuItemsSavedEvent;
+import com.taskflow.menuscraper.repository.MenuItemBulkRepository;
+import com.taskflow.menuscraper.repository.MenuItemCursor;
+import com.taskflow.menuscraper.repository.MenuItemFilter;
+import com.taskflow.menuscraper.repository.PriceObservationRepository;
 import com.taskflow.menuscraper.repository.RestaurantRepository;
 import com.taskflow.menuscraper.repository.MenuItemRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 public class MenuItemService {
@@ -29,50 +57,353 @@ public class MenuItemService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private MenuItemBulkRepository menuItemBulkRepository;
+
+    @Autowired
+    private PriceObservationRepository priceObservationRepository;
+
     @Autowired
     private ValidationService validationService;
 
+    @Autowired
+    private RestaurantCache restaurantCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MenuScraperMetrics metrics;
+
+    @Value("${menu-scraper.query.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${menu-scraper.query.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${menu-scraper.query.list-max-items:1000}")
+    private int listMaxItems;
+
+    @Value("${menu-scraper.partitions.menu-items.retention-months:0}")
+    private int retentionMonths;
+
     @Transactional(rollbackFor = Exception.class)
     public int saveBatch(List<MenuItemRequest> requests) {
-        int savedCount = 0;
-
         for (MenuItemRequest request : requests) {
             try {
-                // Normalize currency before validation
-                if (request.getCurrency() != null) {
-                    request.setCurrency(request.getCurrency().toUpperCase().trim());
-                }
-                validationService.validateMenuItem(request);
-                saveMenuItem(request);
-                savedCount++;
+                normalizeAndValidate(request);
             } catch (Exception e) {
                 logger.error("Failed to save menu item: restaurant={}, item={}, error={}",
                         request.getRestaurantName(), request.getName(), e.getMessage(), e);
+                metrics.recordRejected("validation", requests.size());
                 // Re-throw to trigger transaction rollback
-                throw new RuntimeException("Failed to save batch: " + e.getMessage(), e);
+                throw batchRejected(e);
             }
         }
 
-        return savedCount;
+        return saveValidatedBatch(requests);
+    }
+
+    // Writes items that already went through normalizeAndValidate in a single transaction
+    @Transactional(rollbackFor = Exception.class)
+    public int saveValidatedBatch(List<MenuItemRequest> requests) {
+        return saveValidatedBatch(requests, UUID.randomUUID());
+    }
+
+    // Chunks of one upload pass the same scrapeId, so each chunk adds to the restaurant
+    // snapshots the first chunk started instead of replacing them
+    @Transactional(rollbackFor = Exception.class)
+    public int saveValidatedBatch(List<MenuItemRequest> requests, UUID scrapeId) {
+        try {
+            return insertValidated(requests, scrapeId);
+        } catch (Exception e) {
+            logger.error("Failed to save batch of {} menu items: error={}", requests.size(), e.getMessage(), e);
+            throw new RuntimeException("Failed to save batch: " + e.getMessage(), e);
+        }
+    }
+
+    public void normalizeAndValidate(MenuItemRequest request) {
+        long start = System.nanoTime();
+        try {
+            // Normalize currency before validation; both calls return the same string when
+            // there is nothing to change, which is the common case
+            if (request.getCurrency() != null) {
+                request.setCurrency(request.getCurrency().toUpperCase().trim());
+            }
+            validationService.validateMenuItem(request);
+        } finally {
+            metrics.recordValidation(System.nanoTime() - start);
+        }
+    }
+
+    // Idempotent variant of saveBatch: items are identified per restaurant by their
+    // normalized name, and only new items or items whose content changed are written
+    @Transactional(rollbackFor = Exception.class)
+    public UpsertBatchResult upsertBatch(List<MenuItemRequest> requests) {
+        for (MenuItemRequest request : requests) {
+            try {
+                normalizeAndValidate(request);
+            } catch (Exception e) {
+                logger.error("Failed to upsert menu item: restaurant={}, item={}, error={}",
+                        request.getRestaurantName(), request.getName(), e.getMessage(), e);
+                metrics.recordRejected("validation", requests.size());
+                throw batchRejected(e);
+            }
+        }
+
+        return upsertValidatedBatch(requests);
+    }
+
+    // Upserts items that already went through normalizeAndValidate in a single transaction
+    @Transactional(rollbackFor = Exception.class)
+    public UpsertBatchResult upsertValidatedBatch(List<MenuItemRequest> requests) {
+        return upsertValidatedBatch(requests, UUID.randomUUID());
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public UpsertBatchResult upsertValidatedBatch(List<MenuItemRequest> requests, UUID scrapeId) {
+        try {
+            return upsertValidated(requests, scrapeId);
+        } catch (Exception e) {
+            logger.error("Failed to upsert batch of {} menu items: error={}", requests.size(), e.getMessage(), e);
+            throw new RuntimeException("Failed to save batch: " + e.getMessage(), e);
+        }
+    }
+
+    private int insertValidated(List<MenuItemRequest> requests, UUID scrapeId) {
+        metrics.recordBatchSize(IngestMode.APPEND, requests.size());
+        metrics.timeCommit(IngestMode.APPEND);
+
+        Map<String, String> namesBySourceUrl = restaurantNames(requests);
+        lockSourceUrls(namesBySourceUrl.keySet());
+        Map<String, UUID> restaurantIds = resolveRestaurants(namesBySourceUrl);
+
+        List<MenuItemBulkRepository.MenuItemRow> rows = new ArrayList<>(requests.size());
+        for (MenuItemRequest request : requests) {
+            rows.add(new MenuItemBulkRepository.MenuItemRow(
+                    UUID.randomUUID(), restaurantIds.get(request.getSourceUrl()), request));
+        }
+
+        LocalDateTime scrapedAt = LocalDateTime.now();
+        metrics.timeWrite(MenuScraperMetrics.WRITE_MENU_ITEMS_INSERT,
+                () -> menuItemBulkRepository.insertMenuItemRows(rows, scrapedAt));
+        metrics.timeWrite(MenuScraperMetrics.WRITE_PRICE_OBSERVATIONS_INSERT,
+                () -> priceObservationRepository.insertObservations(rows, scrapedAt));
+
+        List<MenuItemResponse> saved = new ArrayList<>(rows.size());
+        for (MenuItemBulkRepository.MenuItemRow row : rows) {
+            saved.add(toResponse(row.id(), row.item(), namesBySourceUrl, scrapedAt));
+        }
+        eventPublisher.publishEvent(new MenuItemsSavedEvent(saved, saved.size(), new MenuItemsSavedEvent.Scrape(
+                scrapeId, scrapedAt, namesBySourceUrl, itemKeys(requests), Map.of())));
+
+        return saved.size();
+    }
+
+    private UpsertBatchResult upsertValidated(List<MenuItemRequest> requests, UUID scrapeId) {
+        metrics.recordBatchSize(IngestMode.UPSERT, requests.size());
+        metrics.timeCommit(IngestMode.UPSERT);
+
+        Map<String, String> namesBySourceUrl = restaurantNames(requests);
+        lockSourceUrls(namesBySourceUrl.keySet());
+        Map<String, UUID> restaurantIds = resolveRestaurants(namesBySourceUrl);
+
+        // Later occurrences of the same item in a batch replace earlier ones
+        Map<String, MenuItemBulkRepository.MenuItemRow> rowsByKey = new LinkedHashMap<>();
+        Map<String, MenuItemBulkRepository.ItemKeyRow> keysByKey = new LinkedHashMap<>();
+        for (MenuItemRequest request : requests) {
+            UUID restaurantId = restaurantIds.get(request.getSourceUrl());
+            String itemKey = itemKey(request);
+            String key = restaurantId + "|" + itemKey;
+            UUID id = UUID.randomUUID();
+            rowsByKey.put(key, new MenuItemBulkRepository.MenuItemRow(id, restaurantId, request));
+            keysByKey.put(key, new MenuItemBulkRepository.ItemKeyRow(restaurantId, itemKey, id, contentHash(request)));
+        }
+
+        List<MenuItemBulkRepository.ChangedKey> changed = metrics.timeWrite(MenuScraperMetrics.WRITE_ITEM_KEYS_UPSERT,
+                () -> menuItemBulkRepository.upsertItemKeys(new ArrayList<>(keysByKey.values())));
+
+        List<MenuItemBulkRepository.MenuItemRow> inserts = new ArrayList<>();
+        List<MenuItemBulkRepository.MenuItemRow> updates = new ArrayList<>();
+        Map<String, MenuItemBulkRepository.ItemKeyRow> unchanged = new LinkedHashMap<>(keysByKey);
+        for (MenuItemBulkRepository.ChangedKey key : changed) {
+            String rowKey = key.restaurantId() + "|" + key.itemKey();
+            MenuItemBulkRepository.MenuItemRow row = rowsByKey.get(rowKey);
+            unchanged.remove(rowKey);
+            if (key.inserted()) {
+                inserts.add(row);
+            } else {
+                // Keep the existing row ID so the item's identity is stable across scrapes
+                updates.add(new MenuItemBulkRepository.MenuItemRow(key.menuItemId(), row.restaurantId(), row.item()));
+            }
+        }
+
+        LocalDateTime scrapedAt = LocalDateTime.now();
+        List<MenuItemBulkRepository.MenuItemRow> missing = new ArrayList<>(metrics.timeWrite(
+                MenuScraperMetrics.WRITE_MENU_ITEMS_UPDATE,
+                () -> menuItemBulkRepository.updateMenuItemRows(updates, scrapedAt)));
+        updates.removeAll(new HashSet<>(missing));
+        // Unchanged rows are left alone unless retention is on and they sit in the month the
+        // next retention run retires
+        Map<String, Set<String>> refreshedKeys = new HashMap<>();
+        if (retentionMonths > 0 && !unchanged.isEmpty()) {
+            LocalDateTime retiredNext = YearMonth.from(scrapedAt).minusMonths(retentionMonths - 1L)
+                    .atDay(1).atStartOfDay();
+            List<MenuItemBulkRepository.RefreshedKey> refreshed = metrics.timeWrite(
+                    MenuScraperMetrics.WRITE_MENU_ITEMS_REFRESH,
+                    () -> menuItemBulkRepository.refreshMenuItemRows(
+                            new ArrayList<>(unchanged.values()), scrapedAt, retiredNext));
+            for (MenuItemBulkRepository.RefreshedKey key : refreshed) {
+                MenuItemBulkRepository.MenuItemRow row = rowsByKey.get(key.restaurantId() + "|" + key.itemKey());
+                if (key.missing()) {
+                    missing.add(row);
+                } else {
+                    refreshedKeys.computeIfAbsent(row.item().getSourceUrl(), url -> new HashSet<>())
+                            .add(key.itemKey());
+                }
+            }
+        }
+
+        // A key whose row is gone lost it to retention after the key was read. The item is
+        // written again as a new row, under a new ID so that retention's cleanup of the keys
+        // pointing into the dropped partition leaves its key alone.
+        List<MenuItemBulkRepository.ItemKeyRow> reassigned = new ArrayList<>(missing.size());
+        for (MenuItemBulkRepository.MenuItemRow row : missing) {
+            MenuItemBulkRepository.MenuItemRow reinserted =
+                    new MenuItemBulkRepository.MenuItemRow(UUID.randomUUID(), row.restaurantId(), row.item());
+            inserts.add(reinserted);
+            reassigned.add(new MenuItemBulkRepository.ItemKeyRow(
+                    row.restaurantId(), row.itemKey(), reinserted.id(), null));
+        }
+
+        metrics.timeWrite(MenuScraperMetrics.WRITE_MENU_ITEMS_INSERT,
+                () -> menuItemBulkRepository.insertMenuItemRows(inserts, scrapedAt));
+        if (!reassigned.isEmpty()) {
+            logger.warn("Re-inserted {} menu items whose rows were retired during the upsert", reassigned.size());
+            metrics.timeWrite(MenuScraperMetrics.WRITE_ITEM_KEYS_UPSERT,
+                    () -> menuItemBulkRepository.reassignItemKeys(reassigned));
+        }
+        // Unchanged items are not observed again, so the history holds one point per change
+        metrics.timeWrite(MenuScraperMetrics.WRITE_PRICE_OBSERVATIONS_INSERT, () -> {
+            priceObservationRepository.insertObservations(inserts, scrapedAt);
+            priceObservationRepository.insertObservations(updates, scrapedAt);
+        });
+
+        // Published even when nothing changed: the scrape still tells which items the
+        // restaurant snapshots keep
+        List<MenuItemResponse> saved = new ArrayList<>(inserts.size() + updates.size());
+        for (MenuItemBulkRepository.MenuItemRow row : inserts) {
+            saved.add(toResponse(row.id(), row.item(), namesBySourceUrl, scrapedAt));
+        }
+        for (MenuItemBulkRepository.MenuItemRow row : updates) {
+            saved.add(toResponse(row.id(), row.item(), namesBySourceUrl, scrapedAt));
+        }
+        eventPublisher.publishEvent(new MenuItemsSavedEvent(saved, inserts.size(), new MenuItemsSavedEvent.Scrape(
+                scrapeId, scrapedAt, namesBySourceUrl, itemKeys(requests), refreshedKeys)));
+
+        return new UpsertBatchResult(inserts.size(), updates.size(),
+                requests.size() - inserts.size() - updates.size());
+    }
+
+    // Validation failures stay IllegalArgumentException, which the controller answers with 400
+    private static RuntimeException batchRejected(Exception e) {
+        if (e instanceof IllegalArgumentException) {
+            return new IllegalArgumentException("Failed to save batch: " + e.getMessage(), e);
+        }
+        return new RuntimeException("Failed to save batch: " + e.getMessage(), e);
+    }
+
+    // Restaurant name keyed by source URL; the last name seen for a source URL wins,
+    // matching the item-by-item behaviour of saveMenuItem
+    private static Map<String, String> restaurantNames(List<MenuItemRequest> requests) {
+        Map<String, String> namesBySourceUrl = new LinkedHashMap<>();
+        for (MenuItemRequest request : requests) {
+            namesBySourceUrl.put(request.getSourceUrl(), request.getRestaurantName());
+        }
+        return namesBySourceUrl;
+    }
+
+    // Batches that share a restaurant run one after the other from here on, so they cannot
+    // race on creating it, deadlock on its item keys or its snapshot, or abort each other;
+    // batches for other restaurants are not held up
+    private void lockSourceUrls(Collection<String> sourceUrls) {
+        metrics.timeLockWait(() -> menuItemBulkRepository.lockSourceUrls(sourceUrls));
+    }
+
+    private Map<String, UUID> resolveRestaurants(Map<String, String> namesBySourceUrl) {
+        return metrics.timeRestaurantLookup(() -> lookupRestaurants(namesBySourceUrl));
+    }
+
+    private Map<String, UUID> lookupRestaurants(Map<String, String> namesBySourceUrl) {
+        // Only restaurants that are new, evicted or renamed go to the database
+        Map<String, UUID> restaurantIds = new HashMap<>();
+        Map<String, String> toUpsert = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : namesBySourceUrl.entrySet()) {
+            UUID cachedId = restaurantCache.get(entry.getKey(), entry.getValue());
+            if (cachedId != null) {
+                restaurantIds.put(entry.getKey(), cachedId);
+            } else {
+                toUpsert.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (!toUpsert.isEmpty()) {
+            Map<String, UUID> upserted = menuItemBulkRepository.upsertRestaurants(toUpsert);
+            restaurantIds.putAll(upserted);
+
+            Map<String, RestaurantCache.CachedRestaurant> written = new HashMap<>();
+            upserted.forEach((sourceUrl, id) ->
+                    written.put(sourceUrl, new RestaurantCache.CachedRestaurant(id, toUpsert.get(sourceUrl))));
+            restaurantCache.recordWrites(written);
+        }
+
+        return restaurantIds;
+    }
+
+    private static MenuItemResponse toResponse(UUID id, MenuItemRequest request,
+                                               Map<String, String> namesBySourceUrl, LocalDateTime scrapedAt) {
+        return new MenuItemResponse(id, namesBySourceUrl.get(request.getSourceUrl()), request.getSourceUrl(),
+                request.getName(), request.getDescription(), request.getPrice(), request.getCurrency(),
+                scrapedAt);
+    }
+
+    private static Map<String, Set<String>> itemKeys(List<MenuItemRequest> requests) {
+        Map<String, Set<String>> itemKeysBySourceUrl = new HashMap<>();
+        for (MenuItemRequest request : requests) {
+            itemKeysBySourceUrl.computeIfAbsent(request.getSourceUrl(), url -> new HashSet<>()).add(itemKey(request));
+        }
+        return itemKeysBySourceUrl;
+    }
+
+    private static String itemKey(MenuItemRequest request) {
+        return request.getName().trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String contentHash(MenuItemRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // The column is NUMERIC(10, 2), so 16.9 and 16.90 are the same stored price
+            String content = request.getName() + '\0'
+                    + (request.getDescription() == null ? "" : request.getDescription()) + '\0'
+                    + request.getPrice().setScale(2).toPlainString() + '\0'
+                    + request.getCurrency();
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     @Transactional
     public void saveMenuItem(MenuItemRequest request) {
-        // Find or create restaurant
-        Restaurant restaurant = restaurantRepository.findBySourceUrl(request.getSourceUrl())
-                .orElseGet(() -> {
-                    Restaurant newRestaurant = new Restaurant(
-                            request.getRestaurantName(),
-                            request.getSourceUrl()
-                    );
-                    return restaurantRepository.save(newRestaurant);
-                });
-
-        // Update restaurant name if it has changed
-        if (!restaurant.getName().equals(request.getRestaurantName())) {
-            restaurant.setName(request.getRestaurantName());
-            restaurantRepository.save(restaurant);
-        }
+        // Same locking and restaurant upsert as the bulk path, so a concurrent batch creating
+        // this restaurant makes us wait rather than fail on the source_url constraint
+        lockSourceUrls(List.of(request.getSourceUrl()));
+        UUID restaurantId = resolveRestaurants(Map.of(request.getSourceUrl(), request.getRestaurantName()))
+                .get(request.getSourceUrl());
+        Restaurant restaurant = restaurantRepository.getReferenceById(restaurantId);
 
         // Create menu item
         MenuItem menuItem = new MenuItem();
@@ -80,52 +411,69 @@ public class MenuItemService {
         menuItem.setName(request.getName());
         menuItem.setDescription(request.getDescription());
         menuItem.setPrice(request.getPrice());
-        // Normalize currency to uppercase (validation ensures it's valid)
-        menuItem.setCurrency(request.getCurrency().toUpperCase());
+        // Already upper-cased and trimmed by normalizeAndValidate
+        menuItem.setCurrency(request.getCurrency());
 
         menuItemRepository.save(menuItem);
+        priceObservationRepository.insertObservations(List.of(new MenuItemBulkRepository.MenuItemRow(
+                menuItem.getId(), restaurantId, request)), menuItem.getScrapedAt());
+
+        eventPublisher.publishEvent(new MenuItemsSavedEvent(List.of(new MenuItemResponse(
+                menuItem.getId(), request.getRestaurantName(), request.getSourceUrl(), menuItem.getName(),
+                menuItem.getDescription(), menuItem.getPrice(), menuItem.getCurrency(), menuItem.getScrapedAt())), 1));
     }
 
-    public List<MenuItemResponse> getMenuItems(String restaurantName, String sourceUrl) {
-        List<MenuItem> items;
+    // The first page of a GET /api/menu-items query, whatever the filter: up to
+    // list-max-items items, with the cursor to continue on /page when more match
+    @Transactional(readOnly = true)
+    public MenuItemPageResponse getMenuItems(MenuItemFilter filter) {
+        return findPage(filter, null, listMaxItems);
+    }
 
-        if (restaurantName != null && !restaurantName.trim().isEmpty()) {
-            if (sourceUrl != null && !sourceUrl.trim().isEmpty()) {
-                items = menuItemRepository.findByRestaurantNameOrSourceUrl(restaurantName, sourceUrl);
-            } else {
-                items = menuItemRepository.findByRestaurantName(restaurantName);
-            }
-        } else if (sourceUrl != null && !sourceUrl.trim().isEmpty()) {
-            items = menuItemRepository.findByRestaurantNameOrSourceUrl("", sourceUrl);
-        } else {
-            // Return all items if no filter provided (limit to 100 for safety)
-            Pageable pageable = PageRequest.of(0, 100);
-            items = menuItemRepository.findAll(pageable).getContent();
+    @Transactional(readOnly = true)
+    public MenuItemPageResponse getMenuItemPage(MenuItemFilter filter, String cursor, Integer pageSize) {
+        int size = pageSize == null ? defaultPageSize : pageSize;
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
         }
+        size = Math.min(size, maxPageSize);
 
-        return items.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        MenuItemCursor after = cursor == null || cursor.isBlank() ? null : MenuItemCursor.decode(cursor);
+        return findPage(filter, after, size);
     }
 
-    private MenuItemResponse convertToResponse(MenuItem item) {
-        MenuItemResponse response = new MenuItemResponse();
-        response.setId(item.getId());
-        response.setRestaurantName(item.getRestaurant().getName());
-        response.setSourceUrl(item.getRestaurant().getSourceUrl());
-        response.setName(item.getName());
-        response.setDescription(item.getDescription());
-        response.setPrice(item.getPrice());
-        response.setCurrency(item.getCurrency());
-        response.setScrapedAt(item.getScrapedAt());
-        return response;
-    }
+    // Runs in the callers' read-only transactions, which skip dirty checking and flushing;
+    // the projection returns DTOs directly, so no entities end up in the persistence context
+    private MenuItemPageResponse findPage(MenuItemFilter filter, MenuItemCursor after, int size) {
+        // Fetch one extra row to find out whether another page follows
+        List<MenuItemResponse> items = menuItemRepository.findPage(filter, after, size + 1);
+
+        String nextCursor = null;
+        if (items.size() > size) {
+            items = items.subList(0, size);
+            MenuItemResponse last = items.get(size - 1);
+            nextCursor = new MenuItemCursor(last.getScrapedAt(), last.getId()).encode();
+        }
 
-    public long getTotalMenuItems() {
-        return menuItemRepository.count();
+        return new MenuItemPageResponse(items, size, nextCursor);
     }
 
-    public long getTotalRestaurants() {
-        return restaurantRepository.count();
+    // Writes every matching item as newline-delimited JSON while reading from a database
+    // cursor, so a full export never has to fit in memory
+    @Transactional(readOnly = true)
+    public void exportMenuItems(MenuItemFilter filter, OutputStream out) throws IOException {
+        try (Stream<MenuItemResponse> items = menuItemRepository.streamAll(filter);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            ObjectWriter writer = objectMapper.writerFor(MenuItemResponse.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+            Iterator<MenuItemResponse> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.event.MenuItemsSavedEvent;
+import com.taskflow.menuscraper.repository.MenuItemFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Bounded LRU cache of serialized GET /api/menu-items responses keyed by the normalized
+// filter and the response encoding. Entries are dropped after an ingest commits items for
+// a restaurant they contain or whose name or source URL matches their filter, and expire
+// after ttl-seconds regardless, since writes of other instances and retention drops are
+// not seen here.
+@Component
+public class MenuQueryCache {
+
+    public record Key(MenuItemFilter filter, MenuItemFormat format, boolean grouped) {
+
+        public static Key of(MenuItemFilter filter, MenuItemFormat format, boolean grouped) {
+            return new Key(filter, format, grouped);
+        }
+
+        // Time, price and currency filters are not checked: new items usually fall into
+        // "recent" windows anyway, so any write to a matching restaurant drops the entry
+        boolean matches(String restaurantName, String restaurantSourceUrl) {
+            return filter.matchesRestaurant(restaurantName, restaurantSourceUrl);
+        }
+    }
+
+    // nextCursor is set when the response was cut off at menu-scraper.query.list-max-items
+    public record CachedResponse(byte[] body, String etag, Set<String> sourceUrls, String nextCursor) {}
+
+    private record Entry(CachedResponse response, long expiresAtNanos) {}
+
+    private final int maxEntries;
+    private final int maxEntryBytes;
+    private final long ttlNanos;
+    private final Map<Key, Entry> entries;
+
+    // Bumped on every invalidation so a response read before a commit is never cached after it
+    private long generation;
+
+    // With read replicas a query right after a commit may still see the old data, so nothing
+    // is cached until the replicas can be assumed to have caught up
+    private final long replicaLagNanos;
+    private long lastInvalidationNanos;
+
+    private long hits;
+    private long misses;
+
+    public MenuQueryCache(@Value("${menu-scraper.query-cache.max-entries:500}") int maxEntries,
+                          @Value("${menu-scraper.query-cache.max-entry-bytes:1048576}") int maxEntryBytes,
+                          @Value("${menu-scraper.query-cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${menu-scraper.replicas.enabled:false}") boolean replicasEnabled,
+                          @Value("${menu-scraper.replicas.max-lag-seconds:5}") double maxLagSeconds) {
+        this.maxEntries = maxEntries;
+        this.maxEntryBytes = maxEntryBytes;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.replicaLagNanos = replicasEnabled ? (long) (maxLagSeconds * 1_000_000_000L) : 0;
+        this.lastInvalidationNanos = System.nanoTime() - replicaLagNanos;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > MenuQueryCache.this.maxEntries;
+            }
+        };
+    }
+
+    public synchronized CachedResponse get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.expiresAtNanos() >= 0) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry != null) {
+            hits++;
+            return entry.response();
+        }
+        misses++;
+        return null;
+    }
+
+    // Read before running the query and pass to put
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    public synchronized CachedResponse put(Key key, long readGeneration, byte[] body, Set<String> sourceUrls,
+                                           String nextCursor) {
+        CachedResponse response = new CachedResponse(body, etagOf(body), sourceUrls, nextCursor);
+        if (readGeneration == generation && body.length <= maxEntryBytes
+                && System.nanoTime() - lastInvalidationNanos >= replicaLagNanos) {
+            entries.put(key, new Entry(response, System.nanoTime() + ttlNanos));
+        }
+        return response;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMenuItemsSaved(MenuItemsSavedEvent event) {
+        invalidate(event.getRestaurants());
+    }
+
+    public synchronized void invalidate(Map<String, String> namesBySourceUrl) {
+        generation++;
+        lastInvalidationNanos = System.nanoTime();
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            for (Map.Entry<String, String> restaurant : namesBySourceUrl.entrySet()) {
+                // Also catches renames: the entry still lists the restaurant's source URL
+                if (entry.getValue().response().sourceUrls().contains(restaurant.getKey())
+                        || entry.getKey().matches(restaurant.getValue(), restaurant.getKey())) {
+                    iterator.remove();
+                    break;
+                }
+            }
+        }
+    }
+
+    // For changes that are not tied to restaurants, like dropped partitions
+    public synchronized void invalidateAll() {
+        generation++;
+        lastInvalidationNanos = System.nanoTime();
+        entries.clear();
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", entries.size());
+        stats.put("max_entries", maxEntries);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        return stats;
+    }
+
+    private static String etagOf(byte[] body) {
+        return "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+}
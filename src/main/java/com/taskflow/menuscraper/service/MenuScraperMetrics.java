@@ -0,0 +1,205 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.repository.MenuItemFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Meters for the ingest pipeline and menu item queries, scraped from /actuator/prometheus.
+// Hikari pool metrics (hikaricp_connections_*) are registered by Spring Boot itself.
+@Component
+public class MenuScraperMetrics {
+
+    public static final String WRITE_MENU_ITEMS_INSERT = "menu_items_insert";
+    public static final String WRITE_MENU_ITEMS_UPDATE = "menu_items_update";
+    public static final String WRITE_MENU_ITEMS_REFRESH = "menu_items_refresh";
+    public static final String WRITE_ITEM_KEYS_UPSERT = "menu_item_keys_upsert";
+    public static final String WRITE_PRICE_OBSERVATIONS_INSERT = "price_observations_insert";
+
+    private final MeterRegistry registry;
+    private final Map<IngestMode, DistributionSummary> batchSizes;
+    private final Map<IngestMode, Timer> commitTimers;
+    private final Timer validationTimer;
+    private final Timer restaurantLookupTimer;
+    private final Timer lockWaitTimer;
+    private final Map<String, Timer> writeTimers;
+
+    public MenuScraperMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        this.batchSizes = Map.of(
+                IngestMode.APPEND, batchSize(IngestMode.APPEND),
+                IngestMode.UPSERT, batchSize(IngestMode.UPSERT));
+        this.commitTimers = Map.of(
+                IngestMode.APPEND, commitTimer(IngestMode.APPEND),
+                IngestMode.UPSERT, commitTimer(IngestMode.UPSERT));
+
+        this.validationTimer = Timer.builder("ingest.validation")
+                .description("Validation time per menu item")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.restaurantLookupTimer = Timer.builder("ingest.restaurant.lookup")
+                .description("Resolving the restaurant IDs of a batch, cache lookups included")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.lockWaitTimer = Timer.builder("ingest.lock.wait")
+                .description("Waiting for the source URL locks of a batch")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        this.writeTimers = Map.of(
+                WRITE_MENU_ITEMS_INSERT, writeTimer(WRITE_MENU_ITEMS_INSERT),
+                WRITE_MENU_ITEMS_UPDATE, writeTimer(WRITE_MENU_ITEMS_UPDATE),
+                WRITE_MENU_ITEMS_REFRESH, writeTimer(WRITE_MENU_ITEMS_REFRESH),
+                WRITE_ITEM_KEYS_UPSERT, writeTimer(WRITE_ITEM_KEYS_UPSERT),
+                WRITE_PRICE_OBSERVATIONS_INSERT, writeTimer(WRITE_PRICE_OBSERVATIONS_INSERT));
+    }
+
+    private DistributionSummary batchSize(IngestMode mode) {
+        return DistributionSummary.builder("ingest.batch.size")
+                .description("Menu items per written batch")
+                .baseUnit("items")
+                .tag("mode", mode.name().toLowerCase())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100_000.0)
+                .register(registry);
+    }
+
+    private Timer commitTimer(IngestMode mode) {
+        return Timer.builder("ingest.commit")
+                .description("Transaction commit latency of ingest batches")
+                .tag("mode", mode.name().toLowerCase())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer writeTimer(String operation) {
+        return Timer.builder("ingest.write")
+                .description("Time spent in the bulk SQL statements of a batch")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void recordBatchSize(IngestMode mode, int size) {
+        batchSizes.get(mode).record(size);
+    }
+
+    public void recordValidation(long nanos) {
+        validationTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public <T> T timeRestaurantLookup(Supplier<T> lookup) {
+        return restaurantLookupTimer.record(lookup);
+    }
+
+    public void timeLockWait(Runnable lock) {
+        lockWaitTimer.record(lock);
+    }
+
+    public void timeWrite(String operation, Runnable write) {
+        writeTimers.get(operation).record(write);
+    }
+
+    public <T> T timeWrite(String operation, Supplier<T> write) {
+        return writeTimers.get(operation).record(write);
+    }
+
+    // Times the commit of the current transaction, from the first beforeCommit callback
+    // (where the JPA flush happens) until the database acknowledged the commit
+    public void timeCommit(IngestMode mode) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Timer timer = commitTimers.get(mode);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long start;
+
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                start = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    public void registerIngestQueue(Collection<?> queue) {
+        Gauge.builder("ingest.queue.depth", queue, Collection::size)
+                .description("Asynchronous batches waiting for a worker")
+                .register(registry);
+    }
+
+    public void registerChangeFeedSubscribers(Number subscribers) {
+        Gauge.builder("change.feed.subscribers", subscribers, Number::doubleValue)
+                .description("Open change feed streams")
+                .register(registry);
+    }
+
+    // reason: validation, database or queue_full
+    public void recordRejected(String reason, int items) {
+        Counter.builder("ingest.rejected")
+                .description("Menu items that were not stored")
+                .baseUnit("items")
+                .tag("reason", reason)
+                .register(registry)
+                .increment(items);
+    }
+
+    public Timer.Sample startQuery() {
+        return Timer.start(registry);
+    }
+
+    // endpoint: list, page or export; cache: hit, miss or none
+    public void stopQuery(Timer.Sample sample, String endpoint, MenuItemFilter filter, String cache) {
+        sample.stop(Timer.builder("menu.query")
+                .description("Menu item query latency by filter type")
+                .tag("endpoint", endpoint)
+                .tag("filter", filterType(filter))
+                .tag("cache", cache)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    // The filters present, e.g. "restaurant_and_scraped_at"; a price range implies a currency
+    private static String filterType(MenuItemFilter filter) {
+        List<String> parts = new ArrayList<>();
+        if (filter.restaurantName() != null) {
+            parts.add("restaurant");
+        }
+        if (filter.sourceUrl() != null) {
+            parts.add("source_url");
+        }
+        if (filter.scrapedFrom() != null || filter.scrapedTo() != null) {
+            parts.add("scraped_at");
+        }
+        if (filter.minPrice() != null || filter.maxPrice() != null) {
+            parts.add("price");
+        } else if (filter.currency() != null) {
+            parts.add("currency");
+        }
+        return parts.isEmpty() ? "none" : String.join("_and_", parts);
+    }
+}
@@ -0,0 +1,111 @@
+package com.taskflow.menuscraper.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import com.taskflow.menuscraper.dto.NdjsonIngestResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class NdjsonIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NdjsonIngestService.class);
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MenuScraperMetrics metrics;
+
+    @Value("${menu-scraper.ingest.ndjson-chunk-size:1000}")
+    private int chunkSize;
+
+    // Reads one record at a time and commits every chunkSize valid records in its own
+    // transaction, so memory use is bounded by the chunk size rather than the upload size.
+    // Ingestion stops at the first malformed or invalid record after committing the valid
+    // records before it, so a client can resume from failed_record + 1.
+    public NdjsonIngestResponse ingest(InputStream body) throws IOException {
+        NdjsonIngestResponse response = new NdjsonIngestResponse();
+        List<MenuItemRequest> chunk = new ArrayList<>(chunkSize);
+        // The chunks make up one scrape of each restaurant in the upload
+        UUID scrapeId = UUID.randomUUID();
+        long recordNumber = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token;
+            while ((token = nextToken(parser, recordNumber + 1)) != null) {
+                recordNumber++;
+                if (token != JsonToken.START_OBJECT) {
+                    throw new RecordException(recordNumber, "Expected a JSON object per line");
+                }
+
+                MenuItemRequest request;
+                try {
+                    request = parser.readValueAs(MenuItemRequest.class);
+                    menuItemService.normalizeAndValidate(request);
+                } catch (JsonProcessingException | RuntimeException e) {
+                    // Other IOExceptions mean the upload itself failed and are not the record's fault
+                    throw new RecordException(recordNumber, e.getMessage());
+                }
+
+                chunk.add(request);
+                response.setRecordsRead(recordNumber);
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, scrapeId, response);
+                }
+            }
+            flush(chunk, scrapeId, response);
+
+        } catch (RecordException e) {
+            logger.warn("NDJSON ingest stopped at record {}: {}", e.recordNumber, e.getMessage());
+            metrics.recordRejected("validation", 1);
+            flush(chunk, scrapeId, response);
+            response.setError("Validation failed: " + e.getMessage());
+            response.setFailedRecord(e.recordNumber);
+        }
+
+        return response;
+    }
+
+    private JsonToken nextToken(JsonParser parser, long recordNumber) throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException e) {
+            throw new RecordException(recordNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void flush(List<MenuItemRequest> chunk, UUID scrapeId, NdjsonIngestResponse response) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        int saved = menuItemService.saveValidatedBatch(chunk, scrapeId);
+        response.addChunk(chunk.size(), saved);
+        chunk.clear();
+    }
+
+    private static class RecordException extends RuntimeException {
+
+        private final long recordNumber;
+
+        RecordException(long recordNumber, String message) {
+            super(message);
+            this.recordNumber = recordNumber;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import com.taskflow.menuscraper.dto.PartialBatchResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+// Partial-success variant of saveBatch/upsertBatch: invalid items are reported by index
+// instead of failing the batch, and the valid ones are committed in chunks so a database
+// error only loses its own chunk.
+@Service
+public class PartialBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartialBatchService.class);
+
+    // Database errors are logged in full but not sent back; they can carry SQL and data of
+    // other restaurants
+    private static final String SAVE_FAILED_MESSAGE = "Failed to save menu item";
+    private static final String VALIDATION_FAILED_MESSAGE = "Failed to validate menu item";
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private MenuScraperMetrics metrics;
+
+    @Value("${menu-scraper.ingest.partial.chunk-size:1000}")
+    private int chunkSize;
+
+    // Below this size the fork/join overhead outweighs validating on the request thread
+    @Value("${menu-scraper.ingest.partial.parallel-threshold:256}")
+    private int parallelThreshold;
+
+    public PartialBatchResponse save(List<MenuItemRequest> requests, IngestMode mode) {
+        return save(requests, mode, count -> {});
+    }
+
+    // progress is called with the number of items whose outcome became known: the invalid
+    // ones after validation, then each chunk once it committed or rolled back
+    public PartialBatchResponse save(List<MenuItemRequest> requests, IngestMode mode, IntConsumer progress) {
+        PartialBatchResponse response = new PartialBatchResponse();
+        response.setTotalRequested(requests.size());
+
+        // Validation runs before any database work; each index is written by one task only
+        String[] errors = new String[requests.size()];
+        IntStream indexes = IntStream.range(0, requests.size());
+        if (requests.size() >= parallelThreshold) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> errors[i] = validate(requests.get(i)));
+
+        int invalid = 0;
+        for (String error : errors) {
+            if (error != null) {
+                invalid++;
+            }
+        }
+        progress.accept(invalid);
+
+        // The chunks make up one scrape of each restaurant in the batch
+        UUID scrapeId = UUID.randomUUID();
+        List<MenuItemRequest> chunk = new ArrayList<>(Math.min(chunkSize, requests.size()));
+        List<Integer> chunkIndexes = new ArrayList<>(Math.min(chunkSize, requests.size()));
+        for (int i = 0; i < requests.size(); i++) {
+            if (errors[i] != null) {
+                response.addError(i, errors[i]);
+                continue;
+            }
+            chunk.add(requests.get(i));
+            chunkIndexes.add(i);
+            if (chunk.size() >= chunkSize) {
+                flush(chunk, chunkIndexes, mode, scrapeId, response, progress);
+            }
+        }
+        flush(chunk, chunkIndexes, mode, scrapeId, response, progress);
+
+        if (invalid > 0) {
+            metrics.recordRejected("validation", invalid);
+        }
+        if (response.getRejectedCount() > 0) {
+            response.getErrors().sort(Comparator.comparingInt(PartialBatchResponse.ItemError::getIndex));
+        }
+        return response;
+    }
+
+    private String validate(MenuItemRequest request) {
+        if (request == null) {
+            return "Menu item is required";
+        }
+        try {
+            menuItemService.normalizeAndValidate(request);
+            return null;
+        } catch (IllegalArgumentException e) {
+            // Validation failures describe the item and are meant for the client
+            return e.getMessage();
+        } catch (Exception e) {
+            logger.error("Failed to validate menu item: restaurant={}, item={}",
+                    request.getRestaurantName(), request.getName(), e);
+            return VALIDATION_FAILED_MESSAGE;
+        }
+    }
+
+    private void flush(List<MenuItemRequest> chunk, List<Integer> chunkIndexes, IngestMode mode, UUID scrapeId,
+                       PartialBatchResponse response, IntConsumer progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            if (mode == IngestMode.UPSERT) {
+                response.addUpsertResult(menuItemService.upsertValidatedBatch(chunk, scrapeId));
+            } else {
+                response.addSaved(menuItemService.saveValidatedBatch(chunk, scrapeId));
+            }
+        } catch (Exception e) {
+            // The chunk rolled back as a whole; later chunks are still attempted
+            logger.error("Failed to save chunk of {} menu items at indexes {}-{}", chunk.size(),
+                    chunkIndexes.get(0), chunkIndexes.get(chunkIndexes.size() - 1), e);
+            metrics.recordRejected("database", chunk.size());
+            for (int index : chunkIndexes) {
+                response.addError(index, SAVE_FAILED_MESSAGE);
+            }
+        }
+        progress.accept(chunk.size());
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+}
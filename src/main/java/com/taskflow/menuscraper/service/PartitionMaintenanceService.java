@@ -0,0 +1,133 @@
+package com.taskflow.menuscraper.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Keeps monthly range partitions of the time-partitioned tables created ahead of the
+// current month, so rows never land in the default partitions, and retires menu_items
+// partitions that fall out of the retention window
+@Service
+@ConditionalOnProperty(name = "menu-scraper.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class PartitionMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    // Partitioned table -> partition key column
+    private static final Map<String, String> PARTITIONED_TABLES =
+            Map.of("price_observations", "observed_at", "menu_items", "scraped_at");
+
+    private static final Pattern MENU_ITEMS_PARTITION = Pattern.compile("menu_items_(\\d{4})_(\\d{2})");
+
+    private static final String LIST_MENU_ITEMS_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'menu_items'::regclass ORDER BY c.relname";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MenuQueryCache menuQueryCache;
+
+    @Value("${menu-scraper.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${menu-scraper.partitions.menu-items.retention-months:0}")
+    private int retentionMonths;
+
+    @Value("${menu-scraper.partitions.menu-items.retention-action:drop}")
+    private String retentionAction;
+
+    @Value("${menu-scraper.partitions.retention-lock-timeout:5s}")
+    private String retentionLockTimeout;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${menu-scraper.partitions.cron:0 0 3 * * *}")
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        PARTITIONED_TABLES.forEach((table, keyColumn) -> {
+            for (int i = 0; i <= monthsAhead; i++) {
+                createPartition(table, keyColumn, current.plusMonths(i));
+            }
+        });
+    }
+
+    // create_monthly_partition (V9) also moves rows of that month out of the default
+    // partition, which would otherwise make creating the partition fail on every run
+    private void createPartition(String table, String keyColumn, YearMonth month) {
+        try {
+            jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, ?, ?)::text", String.class,
+                    table, keyColumn, month.atDay(1));
+        } catch (Exception e) {
+            logger.error("Failed to create partition of {} for {}: {}", table, month, e.getMessage());
+        }
+    }
+
+    // Months older than the current one plus retention-months are dropped, or detached into
+    // standalone tables that can be archived and dropped by hand
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${menu-scraper.partitions.cron:0 0 3 * * *}")
+    public void retireExpiredPartitions() {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        for (String partition : jdbcTemplate.queryForList(LIST_MENU_ITEMS_PARTITIONS_SQL, String.class)) {
+            Matcher matcher = MENU_ITEMS_PARTITION.matcher(partition);
+            if (matcher.matches()
+                    && YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)))
+                            .isBefore(oldestKept)) {
+                retirePartition(partition);
+            }
+        }
+    }
+
+    // Detaching, cleaning up item keys and dropping run as separate transactions, so the
+    // exclusive lock on menu_items is never held while waiting for item key row locks
+    private void retirePartition(String partition) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Give up rather than queue ingest and queries behind us for long
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '" + retentionLockTimeout + "'");
+                jdbcTemplate.execute("ALTER TABLE menu_items DETACH PARTITION " + partition);
+            });
+        } catch (Exception e) {
+            logger.error("Failed to detach partition {}: {}", partition, e.getMessage());
+            return;
+        }
+        // The detached items are gone from every query from here on
+        menuQueryCache.invalidateAll();
+
+        try {
+            // Upsert mode would otherwise treat these items as unchanged and never write them
+            // again; without a key, the next scrape inserts them afresh
+            int removedKeys = jdbcTemplate.update(
+                    "DELETE FROM menu_item_keys k USING " + partition + " p WHERE k.menu_item_id = p.id");
+            if ("detach".equalsIgnoreCase(retentionAction)) {
+                logger.info("Detached menu_items partition {} and removed {} item keys", partition, removedKeys);
+            } else {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                logger.info("Dropped menu_items partition {} and removed {} item keys", partition, removedKeys);
+            }
+        } catch (Exception e) {
+            // The table is already detached and has to be cleaned up by hand
+            logger.error("Failed to clean up detached partition {}: {}", partition, e.getMessage());
+        }
+    }
+}
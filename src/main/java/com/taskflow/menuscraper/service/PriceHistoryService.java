@@ -0,0 +1,94 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.dto.PriceHistoryResponse;
+import com.taskflow.menuscraper.entity.MenuItem;
+import com.taskflow.menuscraper.entity.Restaurant;
+import com.taskflow.menuscraper.repository.MenuItemRepository;
+import com.taskflow.menuscraper.repository.PriceObservationRepository;
+import com.taskflow.menuscraper.repository.RestaurantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class PriceHistoryService {
+
+    @Autowired
+    private PriceObservationRepository priceObservationRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Value("${menu-scraper.price-history.default-window-days:30}")
+    private int defaultWindowDays;
+
+    @Value("${menu-scraper.price-history.max-observations:10000}")
+    private int maxObservations;
+
+    // One item's history is keyed by restaurant and item key, so it spans every scrape of the
+    // item rather than the single menu_items row a menu_item_id names. Empty when the source
+    // URL or menu item is unknown.
+    @Transactional(readOnly = true)
+    public Optional<PriceHistoryResponse> getPriceHistory(UUID menuItemId, String sourceUrl, String item,
+                                                          LocalDateTime from, LocalDateTime to, Integer limit) {
+        boolean bySourceUrl = sourceUrl != null && !sourceUrl.isBlank();
+        if ((menuItemId == null) != bySourceUrl) {
+            throw new IllegalArgumentException("Exactly one of menu_item_id or source_url is required");
+        }
+        if (item != null && (!bySourceUrl || item.isBlank())) {
+            throw new IllegalArgumentException("item must be a non-blank name and requires source_url");
+        }
+
+        LocalDateTime windowEnd = to != null ? to : LocalDateTime.now();
+        LocalDateTime windowStart = from != null ? from : windowEnd.minusDays(defaultWindowDays);
+        if (!windowStart.isBefore(windowEnd)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+
+        int size = limit == null ? maxObservations : limit;
+        if (size < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        size = Math.min(size, maxObservations);
+
+        UUID restaurantId;
+        String itemKey;
+        if (bySourceUrl) {
+            Optional<Restaurant> restaurant = restaurantRepository.findBySourceUrl(sourceUrl.trim());
+            if (restaurant.isEmpty()) {
+                return Optional.empty();
+            }
+            restaurantId = restaurant.get().getId();
+            itemKey = item == null ? null : item.trim().toLowerCase(Locale.ROOT);
+        } else {
+            Optional<MenuItem> menuItem = menuItemRepository.findById(menuItemId);
+            if (menuItem.isEmpty()) {
+                return Optional.empty();
+            }
+            restaurantId = menuItem.get().getRestaurant().getId();
+            itemKey = menuItem.get().getName().trim().toLowerCase(Locale.ROOT);
+        }
+
+        // One extra row tells whether the window holds more than was asked for
+        List<PriceHistoryResponse.Observation> observations =
+                priceObservationRepository.findObservations(restaurantId, itemKey, windowStart, windowEnd, size + 1);
+
+        PriceHistoryResponse response = new PriceHistoryResponse();
+        response.setFrom(windowStart);
+        response.setTo(windowEnd);
+        response.setStats(priceObservationRepository.findStats(restaurantId, itemKey, windowStart, windowEnd));
+        response.setTruncated(observations.size() > size);
+        response.setObservations(observations.size() > size ? observations.subList(0, size) : observations);
+        return Optional.of(response);
+    }
+}
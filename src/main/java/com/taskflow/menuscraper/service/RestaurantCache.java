@@ -0,0 +1,111 @@
+package com.taskflow.menuscraper.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Bounded LRU cache of restaurant ID and name keyed by source URL, shared by all ingest
+// requests. Entries are only added after the transaction that wrote the restaurant
+// commits, so a rolled back insert never leaves an ID behind that doesn't exist.
+@Component
+public class RestaurantCache {
+
+    public record CachedRestaurant(UUID id, String name) {}
+
+    private final int maxSize;
+    private final Map<String, CachedRestaurant> entries;
+
+    // Source URLs currently being written by uncommitted transactions
+    private final Map<String, PendingWrite> pendingWrites = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public RestaurantCache(@Value("${menu-scraper.restaurant-cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedRestaurant> eldest) {
+                if (size() > RestaurantCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Returns the cached ID only when the cached name still matches, since a different
+    // name means the restaurant has to be written again
+    public synchronized UUID get(String sourceUrl, String name) {
+        CachedRestaurant cached = entries.get(sourceUrl);
+        if (cached != null && cached.name().equals(name)) {
+            hits++;
+            return cached.id();
+        }
+        misses++;
+        return null;
+    }
+
+    // Must be called inside the transaction that wrote the given restaurants. The entries
+    // are invalidated right away and cached again once the transaction commits, unless
+    // another transaction wrote the same restaurant in the meantime; in that case the
+    // commit order is unknown here and the next lookup goes back to the database.
+    public synchronized void recordWrites(Map<String, CachedRestaurant> written) {
+        for (String sourceUrl : written.keySet()) {
+            entries.remove(sourceUrl);
+            PendingWrite pending = pendingWrites.computeIfAbsent(sourceUrl, k -> new PendingWrite());
+            pending.writers++;
+            if (pending.writers > 1) {
+                pending.contended = true;
+            }
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                completeWrites(written, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private synchronized void completeWrites(Map<String, CachedRestaurant> written, boolean committed) {
+        for (Map.Entry<String, CachedRestaurant> entry : written.entrySet()) {
+            PendingWrite pending = pendingWrites.get(entry.getKey());
+            if (committed && !pending.contended) {
+                entries.put(entry.getKey(), entry.getValue());
+            }
+            if (--pending.writers == 0) {
+                pendingWrites.remove(entry.getKey());
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", entries.size());
+        stats.put("max_size", maxSize);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("evictions", evictions);
+        long lookups = hits + misses;
+        stats.put("hit_rate", lookups == 0 ? 0.0 : (double) hits / lookups);
+        return stats;
+    }
+
+    private static class PendingWrite {
+        int writers;
+        boolean contended;
+    }
+}
@@ -0,0 +1,180 @@
+package com.taskflow.menuscraper.service;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflow.menuscraper.dto.MenuItemResponse;
+import com.taskflow.menuscraper.event.MenuItemsSavedEvent;
+import com.taskflow.menuscraper.repository.RestaurantSnapshotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Maintains restaurant_snapshots: the current menu of each restaurant (latest version of
+// every item) plus per-currency price aggregates. A batch is a full scrape of each restaurant
+// in it, so the items of a new scrape replace the menu and items the restaurant no longer
+// lists are dropped. Snapshots are updated before the ingest transaction commits, so they
+// never disagree with menu_items.
+@Service
+public class RestaurantSnapshotService {
+
+    private static final TypeReference<List<SnapshotItem>> MENU_TYPE = new TypeReference<>() {};
+
+    record SnapshotItem(
+            UUID id,
+            String name,
+            String description,
+            BigDecimal price,
+            String currency,
+            @JsonProperty("scraped_at")
+            @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+            LocalDateTime scrapedAt) {}
+
+    record CurrencyStats(
+            @JsonProperty("item_count") int itemCount,
+            @JsonProperty("min_price") BigDecimal minPrice,
+            @JsonProperty("max_price") BigDecimal maxPrice,
+            @JsonProperty("median_price") BigDecimal medianPrice) {}
+
+    @Autowired
+    private RestaurantSnapshotRepository restaurantSnapshotRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onMenuItemsSaved(MenuItemsSavedEvent event) throws JsonProcessingException {
+        // Unchanged upsert-mode items are only in the item keys, so a restaurant may have none
+        // in the saved items
+        MenuItemsSavedEvent.Scrape scrape = event.getScrape();
+        Map<String, List<MenuItemResponse>> itemsBySourceUrl = new TreeMap<>();
+        if (scrape != null) {
+            for (String sourceUrl : scrape.itemKeysBySourceUrl().keySet()) {
+                itemsBySourceUrl.put(sourceUrl, new ArrayList<>());
+            }
+        }
+        for (MenuItemResponse item : event.getItems()) {
+            itemsBySourceUrl.computeIfAbsent(item.getSourceUrl(), url -> new ArrayList<>()).add(item);
+        }
+        if (itemsBySourceUrl.isEmpty()) {
+            return;
+        }
+
+        Map<String, UUID> restaurantIds =
+                restaurantSnapshotRepository.lockRestaurants(new ArrayList<>(itemsBySourceUrl.keySet()));
+        Map<UUID, RestaurantSnapshotRepository.StoredMenu> menus =
+                restaurantSnapshotRepository.findMenus(new ArrayList<>(restaurantIds.values()));
+
+        List<RestaurantSnapshotRepository.SnapshotRow> rows = new ArrayList<>(restaurantIds.size());
+        for (Map.Entry<String, UUID> restaurant : restaurantIds.entrySet()) {
+            RestaurantSnapshotRepository.StoredMenu stored = menus.get(restaurant.getValue());
+            List<SnapshotItem> current = stored == null ? List.of() : objectMapper.readValue(stored.menuJson(), MENU_TYPE);
+            UUID currentScrapeId = stored == null ? null : stored.scrapeId();
+
+            // Single items and further chunks of the current scrape add to the menu; a new
+            // scrape keeps only the stored items it lists again (unchanged in upsert mode)
+            Set<String> keep = null;
+            Set<String> refreshed = Set.of();
+            UUID scrapeId = currentScrapeId;
+            LocalDateTime scrapedAt = null;
+            if (scrape != null) {
+                refreshed = scrape.refreshedKeysBySourceUrl().getOrDefault(restaurant.getKey(), Set.of());
+                scrapedAt = scrape.scrapedAt();
+                if (!scrape.id().equals(currentScrapeId)) {
+                    keep = scrape.itemKeysBySourceUrl().getOrDefault(restaurant.getKey(), Set.of());
+                    scrapeId = scrape.id();
+                }
+            }
+
+            RestaurantSnapshotRepository.SnapshotRow row = buildSnapshot(restaurant.getValue(), current, keep,
+                    refreshed, scrapedAt, itemsBySourceUrl.get(restaurant.getKey()), scrapeId);
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            restaurantSnapshotRepository.upsertSnapshots(rows);
+        }
+    }
+
+    // keep holds the item keys of the stored menu that stay, null for all of them; refreshed
+    // items had their scraped_at moved up to scrapedAt in menu_items. Null when nothing would
+    // be left, which leaves the stored snapshot as it is.
+    private RestaurantSnapshotRepository.SnapshotRow buildSnapshot(UUID restaurantId, List<SnapshotItem> current,
+                                                                   Set<String> keep, Set<String> refreshed,
+                                                                   LocalDateTime scrapedAt,
+                                                                   List<MenuItemResponse> saved, UUID scrapeId)
+            throws JsonProcessingException {
+        // Sorted by item key, the order the menu is served in
+        Map<String, SnapshotItem> menu = new TreeMap<>();
+        for (SnapshotItem item : current) {
+            String key = itemKey(item.name());
+            if (keep != null && !keep.contains(key)) {
+                continue;
+            }
+            menu.put(key, refreshed.contains(key) ? new SnapshotItem(item.id(), item.name(), item.description(),
+                    item.price(), item.currency(), scrapedAt) : item);
+        }
+        for (MenuItemResponse item : saved) {
+            menu.put(itemKey(item.getName()), new SnapshotItem(item.getId(), item.getName(), item.getDescription(),
+                    item.getPrice(), item.getCurrency(), item.getScrapedAt()));
+        }
+
+        if (menu.isEmpty()) {
+            return null;
+        }
+
+        LocalDateTime lastScrapedAt = null;
+        Map<String, List<BigDecimal>> pricesByCurrency = new TreeMap<>();
+        for (SnapshotItem item : menu.values()) {
+            if (lastScrapedAt == null || item.scrapedAt().isAfter(lastScrapedAt)) {
+                lastScrapedAt = item.scrapedAt();
+            }
+            pricesByCurrency.computeIfAbsent(item.currency(), currency -> new ArrayList<>()).add(item.price());
+        }
+
+        Map<String, CurrencyStats> priceStats = new HashMap<>();
+        pricesByCurrency.forEach((currency, prices) -> priceStats.put(currency, stats(prices)));
+
+        return new RestaurantSnapshotRepository.SnapshotRow(restaurantId, menu.size(), lastScrapedAt,
+                objectMapper.writeValueAsString(priceStats),
+                objectMapper.writeValueAsString(new ArrayList<>(menu.values())), scrapeId);
+    }
+
+    // Same median as the V6 backfill: the mean of the two middle prices, rounded half up
+    private static CurrencyStats stats(List<BigDecimal> prices) {
+        prices.sort(null);
+        int n = prices.size();
+        BigDecimal median = prices.get((n + 1) / 2 - 1).add(prices.get((n + 2) / 2 - 1))
+                .divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
+        return new CurrencyStats(n, prices.get(0), prices.get(n - 1), median);
+    }
+
+    // Matches the item key of upsert mode
+    private static String itemKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<String> getSnapshotJson(String sourceUrl) {
+        return restaurantSnapshotRepository.findSnapshotJson(sourceUrl);
+    }
+}
@@ -0,0 +1,52 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.dto.MenuItemSearchResult;
+import com.taskflow.menuscraper.dto.RestaurantSearchResult;
+import com.taskflow.menuscraper.repository.SearchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class SearchService {
+
+    @Autowired
+    private SearchRepository searchRepository;
+
+    @Value("${menu-scraper.search.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${menu-scraper.search.max-limit:100}")
+    private int maxLimit;
+
+    @Transactional(readOnly = true)
+    public List<RestaurantSearchResult> searchRestaurants(String query, Integer limit) {
+        return searchRepository.searchRestaurants(normalizeQuery(query), normalizeLimit(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<MenuItemSearchResult> searchMenuItems(String query, Integer limit) {
+        return searchRepository.searchMenuItems(normalizeQuery(query), normalizeLimit(limit));
+    }
+
+    private String normalizeQuery(String query) {
+        // Trigrams need at least a couple of characters to say anything useful
+        if (query == null || query.trim().length() < 2) {
+            throw new IllegalArgumentException("Search query must be at least 2 characters");
+        }
+        return query.trim();
+    }
+
+    private int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return Math.min(limit, maxLimit);
+    }
+}
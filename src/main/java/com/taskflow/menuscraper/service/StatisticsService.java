@@ -0,0 +1,118 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.event.MenuItemsSavedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Row counts and database connectivity for the health endpoint, kept in memory so a probe
+// never touches the database. Counts start from the planner's row estimates, are bumped by
+// every committed ingest and are re-based on the estimates periodically, which also picks
+// up deletes and partitions dropped by retention.
+@Service
+public class StatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
+
+    // Sums the leaf partitions (a plain table is its own single leaf). reltuples is -1 for
+    // tables that were never analyzed, in which case the live tuple counter is used instead.
+    private static final String ESTIMATE_SQL =
+            "SELECT coalesce(sum(CASE WHEN c.reltuples >= 0 THEN c.reltuples::bigint " +
+            "ELSE coalesce(s.n_live_tup, 0) END), 0) " +
+            "FROM pg_partition_tree(?::regclass) t " +
+            "JOIN pg_class c ON c.oid = t.relid " +
+            "LEFT JOIN pg_stat_user_tables s ON s.relid = t.relid " +
+            "WHERE t.isleaf";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${menu-scraper.statistics.connectivity-timeout-seconds:2}")
+    private int connectivityTimeoutSeconds;
+
+    private final AtomicLong menuItemCount = new AtomicLong();
+    private final AtomicLong restaurantCount = new AtomicLong();
+    private volatile LocalDateTime countsRefreshedAt;
+
+    private volatile boolean databaseConnected;
+    private volatile String databaseError = "Not checked yet";
+    private volatile long databaseLatencyMillis;
+    private volatile LocalDateTime databaseCheckedAt;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMenuItemsSaved(MenuItemsSavedEvent event) {
+        menuItemCount.addAndGet(event.getInsertedCount());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${menu-scraper.statistics.refresh-interval-ms:300000}",
+            initialDelayString = "${menu-scraper.statistics.refresh-interval-ms:300000}")
+    public void refreshCounts() {
+        try {
+            menuItemCount.set(estimateRows("menu_items"));
+            restaurantCount.set(estimateRows("restaurants"));
+            countsRefreshedAt = LocalDateTime.now();
+        } catch (Exception e) {
+            logger.warn("Failed to refresh table statistics: {}", e.getMessage());
+        }
+    }
+
+    private long estimateRows(String table) {
+        Long estimate = jdbcTemplate.queryForObject(ESTIMATE_SQL, Long.class, table);
+        return estimate == null ? 0 : estimate;
+    }
+
+    // Connection.isValid lets the driver send its cheapest round trip, bounded by the timeout
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${menu-scraper.statistics.connectivity-check-interval-ms:5000}")
+    public void checkConnectivity() {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean valid = connection.isValid(connectivityTimeoutSeconds);
+            databaseError = valid ? null : "Validation query timed out";
+            databaseConnected = valid;
+        } catch (Exception e) {
+            databaseError = e.getMessage();
+            databaseConnected = false;
+        }
+        databaseLatencyMillis = (System.nanoTime() - start) / 1_000_000;
+        databaseCheckedAt = LocalDateTime.now();
+    }
+
+    public boolean isDatabaseConnected() {
+        return databaseConnected;
+    }
+
+    public Map<String, Object> getDatabaseStats() {
+        Map<String, Object> database = new HashMap<>();
+        database.put("status", databaseConnected ? "CONNECTED" : "DISCONNECTED");
+        if (databaseError != null) {
+            database.put("error", databaseError);
+        }
+        database.put("latency_ms", databaseLatencyMillis);
+        database.put("checked_at", databaseCheckedAt == null ? null : databaseCheckedAt.toString());
+        // Estimates, see the class comment
+        database.put("menu_items", menuItemCount.get());
+        database.put("restaurants", restaurantCount.get());
+        database.put("counts_refreshed_at", countsRefreshedAt == null ? null : countsRefreshedAt.toString());
+        return database;
+    }
+}
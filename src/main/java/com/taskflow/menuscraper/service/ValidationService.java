@@ -2,50 +2,127 @@ package com.taskflow.menuscraper.service;
 
 import com.taskflow.menuscraper.dto.MenuItemRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.validation.annotation.Validated;
 
-import jakarta.validation.Valid;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Currency;
+import java.util.List;
 
+// Validates menu items on the ingest path with plain checks instead of Bean Validation, so
+// a valid item costs a few comparisons and no allocation. The constraint checks mirror the
+// annotations on MenuItemRequest and report violations the way method validation did
+// ("validateMenuItem.request.<field>: <message>", joined by ", "), in field order.
 @Service
-@Validated
 public class ValidationService {
 
-    public void validateMenuItem(@Valid MenuItemRequest request) {
-        // Additional business validation
-        if (request.getPrice().compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Price must be non-negative");
+    private static final String PATH = "validateMenuItem.request.";
+
+    // ISO 4217 codes as known to java.util.Currency, indexed by their three letters
+    private static final boolean[] CURRENCY_CODES = new boolean[26 * 26 * 26];
+
+    static {
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            int index = currencyIndex(currency.getCurrencyCode());
+            if (index >= 0) {
+                CURRENCY_CODES[index] = true;
+            }
         }
+    }
 
-        if (request.getPrice().scale() > 2) {
-            throw new IllegalArgumentException("Price must have at most 2 decimal places");
+    public void validateMenuItem(MenuItemRequest request) {
+        List<String> violations = null;
+        violations = require(isBlank(request.getRestaurantName()), violations,
+                "restaurantName", "Restaurant name is required");
+        violations = require(isBlank(request.getSourceUrl()), violations,
+                "sourceUrl", "Restaurant source URL is required");
+        violations = require(isBlank(request.getName()), violations,
+                "name", "Item name is required");
+        BigDecimal price = request.getPrice();
+        violations = require(price == null, violations,
+                "price", "Price is required");
+        violations = require(price != null && price.signum() < 0, violations,
+                "price", "Price must be non-negative");
+        violations = require(isBlank(request.getCurrency()), violations,
+                "currency", "Currency is required");
+        if (violations != null) {
+            throw new IllegalArgumentException(String.join(", ", violations));
         }
 
-        // Validate currency format - use ISO currency validation only
-        String currency = request.getCurrency();
-        if (currency == null || currency.trim().isEmpty()) {
-            throw new IllegalArgumentException("Currency code is required");
+        // Additional business validation; scale() is a field read, no rounding or copies
+        if (price.scale() > 2) {
+            throw new IllegalArgumentException("Price must have at most 2 decimal places");
         }
 
-        String normalizedCurrency = currency.toUpperCase().trim();
-        if (!isValidCurrency(normalizedCurrency)) {
-            throw new IllegalArgumentException("Invalid currency code: " + normalizedCurrency);
+        String currency = request.getCurrency();
+        if (!isValidCurrency(currency)) {
+            throw new IllegalArgumentException("Invalid currency code: " + currency.toUpperCase().trim());
         }
         // Note: Currency normalization should be handled by the service layer, not here
     }
 
-    private boolean isValidCurrency(String currencyCode) {
-        if (currencyCode == null || currencyCode.length() != 3) {
-            return false;
+    private static List<String> require(boolean violated, List<String> violations, String field, String message) {
+        if (!violated) {
+            return violations;
+        }
+        if (violations == null) {
+            violations = new ArrayList<>(2);
         }
+        violations.add(PATH + field + ": " + message);
+        return violations;
+    }
 
-        try {
-            // Validate using ISO 4217 currency codes
-            Currency.getInstance(currencyCode);
+    // Same rule as @NotBlank: null, or nothing left after trimming
+    private static boolean isBlank(String value) {
+        if (value == null) {
             return true;
-        } catch (IllegalArgumentException e) {
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Case-insensitive and ignoring surrounding whitespace, like the upper-cased and trimmed
+    // code that gets stored
+    private static boolean isValidCurrency(String code) {
+        int start = 0;
+        int end = code.length();
+        while (start < end && code.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && code.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != 3) {
             return false;
         }
+        int index = currencyIndex(code.charAt(start), code.charAt(start + 1), code.charAt(start + 2));
+        return index >= 0 && CURRENCY_CODES[index];
+    }
+
+    private static int currencyIndex(String code) {
+        return code.length() == 3 ? currencyIndex(code.charAt(0), code.charAt(1), code.charAt(2)) : -1;
+    }
+
+    private static int currencyIndex(char first, char second, char third) {
+        int a = letter(first);
+        int b = letter(second);
+        int c = letter(third);
+        if (a < 0 || b < 0 || c < 0) {
+            return -1;
+        }
+        return (a * 26 + b) * 26 + c;
+    }
+
+    private static int letter(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        return -1;
     }
-}
\ No newline at end of file
+}
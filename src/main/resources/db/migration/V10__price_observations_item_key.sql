@@ -0,0 +1,12 @@
+-- Observations were keyed by menu_item_id, which is new on every append-mode scrape of the
+-- same item. (restaurant_id, item_key) stays the same across scrapes in every mode; item_key
+-- is the trimmed, lower-cased name, as in menu_item_keys. Observations of items that were
+-- already retired from menu_items keep a null key and only show up in restaurant history.
+ALTER TABLE price_observations ADD COLUMN item_key VARCHAR(255);
+
+UPDATE price_observations o SET item_key = lower(btrim(m.name))
+FROM menu_items m
+WHERE m.id = o.menu_item_id;
+
+CREATE INDEX idx_price_observations_item_key ON price_observations (restaurant_id, item_key, observed_at);
+DROP INDEX idx_price_observations_item;
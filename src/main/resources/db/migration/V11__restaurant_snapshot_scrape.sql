@@ -0,0 +1,5 @@
+-- The scrape a snapshot's menu was last replaced by. A batch from a new scrape replaces the
+-- menu, so items the restaurant dropped disappear; further chunks of the same scrape (partial
+-- and streamed uploads commit in chunks) are merged into it. Null for existing snapshots,
+-- which the next scrape replaces.
+ALTER TABLE restaurant_snapshots ADD COLUMN scrape_id UUID;
@@ -0,0 +1,19 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update). Existing databases are
+-- baselined at this version and skip this script.
+
+CREATE TABLE IF NOT EXISTS restaurants (
+    id         UUID         NOT NULL PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    source_url VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_restaurants_source_url UNIQUE (source_url)
+);
+
+CREATE TABLE IF NOT EXISTS menu_items (
+    id            UUID           NOT NULL PRIMARY KEY,
+    restaurant_id UUID           NOT NULL REFERENCES restaurants (id),
+    name          VARCHAR(255)   NOT NULL,
+    description   TEXT,
+    price         NUMERIC(10, 2) NOT NULL,
+    currency      VARCHAR(3)     NOT NULL,
+    scraped_at    TIMESTAMP(6)
+);
@@ -0,0 +1,2 @@
+-- Backs keyset pagination and exports ordered by (scraped_at, id)
+CREATE INDEX IF NOT EXISTS idx_menu_items_scraped_at_id ON menu_items (scraped_at DESC, id DESC);
@@ -0,0 +1,12 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Serves both the LOWER(name) LIKE '%...%' filters and ranked restaurant search
+CREATE INDEX IF NOT EXISTS idx_restaurants_name_trgm
+    ON restaurants USING gin (lower(name) gin_trgm_ops);
+
+-- Trigram matching is case-insensitive, so menu item search indexes the raw columns
+CREATE INDEX IF NOT EXISTS idx_menu_items_name_trgm
+    ON menu_items USING gin (name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_menu_items_description_trgm
+    ON menu_items USING gin (description gin_trgm_ops);
@@ -0,0 +1,9 @@
+-- Identity of menu items written in upsert mode: one row per restaurant and normalized
+-- item name, pointing at the current menu_items row and a hash of its content
+CREATE TABLE menu_item_keys (
+    restaurant_id UUID         NOT NULL REFERENCES restaurants (id),
+    item_key      VARCHAR(255) NOT NULL,
+    menu_item_id  UUID         NOT NULL,
+    content_hash  BYTEA        NOT NULL,
+    PRIMARY KEY (restaurant_id, item_key)
+);
@@ -0,0 +1,17 @@
+-- Append-only price time series: one narrow row per observed price, without the item's
+-- name or description. Monthly partitions are created ahead of time by
+-- PartitionMaintenanceService; the default partition only catches stragglers.
+CREATE TABLE price_observations (
+    menu_item_id  UUID           NOT NULL,
+    restaurant_id UUID           NOT NULL,
+    price         NUMERIC(10, 2) NOT NULL,
+    currency      CHAR(3)        NOT NULL,
+    observed_at   TIMESTAMP(6)   NOT NULL
+) PARTITION BY RANGE (observed_at);
+
+CREATE TABLE price_observations_default PARTITION OF price_observations DEFAULT;
+
+-- Rows arrive in observed_at order, so a BRIN index stays tiny and still prunes blocks
+CREATE INDEX idx_price_observations_observed_at ON price_observations USING brin (observed_at);
+CREATE INDEX idx_price_observations_item ON price_observations (menu_item_id, observed_at);
+CREATE INDEX idx_price_observations_restaurant ON price_observations (restaurant_id, observed_at);
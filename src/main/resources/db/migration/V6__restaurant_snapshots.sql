@@ -0,0 +1,55 @@
+-- One row per restaurant with its current menu (the latest version of every item, keyed
+-- by lower-cased name like menu_item_keys) and aggregates over that menu. Kept up to date
+-- by RestaurantSnapshotService inside the ingest transaction, so reading a snapshot is a
+-- single lookup. The INSERT below backfills restaurants ingested before this migration.
+CREATE TABLE restaurant_snapshots (
+    restaurant_id   UUID         PRIMARY KEY REFERENCES restaurants (id),
+    item_count      INTEGER      NOT NULL,
+    last_scraped_at TIMESTAMP(6) NOT NULL,
+    -- {"USD": {"item_count": .., "min_price": .., "max_price": .., "median_price": ..}}
+    price_stats     JSONB        NOT NULL,
+    menu            JSONB        NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO restaurant_snapshots (restaurant_id, item_count, last_scraped_at, price_stats, menu, updated_at)
+WITH current_items AS (
+    SELECT DISTINCT ON (restaurant_id, lower(trim(name)))
+           id, restaurant_id, name, description, price, currency, scraped_at
+    FROM menu_items
+    ORDER BY restaurant_id, lower(trim(name)), scraped_at DESC, id DESC
+),
+currency_prices AS (
+    SELECT restaurant_id, currency, array_agg(price ORDER BY price) AS prices
+    FROM current_items
+    GROUP BY restaurant_id, currency
+),
+stats AS (
+    SELECT restaurant_id,
+           jsonb_object_agg(currency, jsonb_build_object(
+                   'item_count', cardinality(prices),
+                   'min_price', prices[1],
+                   'max_price', prices[cardinality(prices)],
+                   'median_price', round((prices[(cardinality(prices) + 1) / 2]
+                                          + prices[(cardinality(prices) + 2) / 2]) / 2, 2))) AS price_stats
+    FROM currency_prices
+    GROUP BY restaurant_id
+),
+menus AS (
+    SELECT restaurant_id,
+           count(*) AS item_count,
+           max(scraped_at) AS last_scraped_at,
+           jsonb_agg(jsonb_build_object(
+                   'id', id,
+                   'name', name,
+                   'description', description,
+                   'price', price,
+                   'currency', currency,
+                   'scraped_at', to_char(scraped_at, 'YYYY-MM-DD"T"HH24:MI:SS'))
+               ORDER BY lower(trim(name))) AS menu
+    FROM current_items
+    GROUP BY restaurant_id
+)
+SELECT m.restaurant_id, m.item_count, m.last_scraped_at, s.price_stats, m.menu, localtimestamp
+FROM menus m
+JOIN stats s ON s.restaurant_id = m.restaurant_id;
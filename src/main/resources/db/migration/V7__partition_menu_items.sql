@@ -0,0 +1,49 @@
+-- Turns menu_items into a table range-partitioned by month of scraped_at, so old months can
+-- be dropped or detached as a whole (see PartitionMaintenanceService) instead of deleted row
+-- by row, and queries bounded by scraped_at only read the matching months. The primary key
+-- of a partitioned table must contain the partition key, hence (id, scraped_at); IDs are
+-- random UUIDs and stay unique in practice. Existing rows are copied over, which takes a
+-- while on large tables.
+CREATE TABLE menu_items_partitioned (
+    id            UUID           NOT NULL,
+    restaurant_id UUID           NOT NULL,
+    name          VARCHAR(255)   NOT NULL,
+    description   TEXT,
+    price         NUMERIC(10, 2) NOT NULL,
+    currency      VARCHAR(3)     NOT NULL,
+    scraped_at    TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT menu_items_partitioned_pkey PRIMARY KEY (id, scraped_at),
+    CONSTRAINT fk_menu_items_restaurant FOREIGN KEY (restaurant_id) REFERENCES restaurants (id)
+) PARTITION BY RANGE (scraped_at);
+
+-- One partition per month from the oldest row up to three months ahead; later months are
+-- created by PartitionMaintenanceService
+DO $$
+DECLARE
+    m          DATE := date_trunc('month', coalesce((SELECT min(scraped_at) FROM menu_items), now()))::date;
+    last_month DATE := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+BEGIN
+    WHILE m <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF menu_items_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'menu_items_' || to_char(m, 'YYYY_MM'), m, (m + INTERVAL '1 month')::date);
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+CREATE TABLE menu_items_default PARTITION OF menu_items_partitioned DEFAULT;
+
+-- scraped_at was never null in practice (the entity and the bulk path always set it)
+INSERT INTO menu_items_partitioned (id, restaurant_id, name, description, price, currency, scraped_at)
+SELECT id, restaurant_id, name, description, price, currency, coalesce(scraped_at, localtimestamp)
+FROM menu_items;
+
+DROP TABLE menu_items;
+ALTER TABLE menu_items_partitioned RENAME TO menu_items;
+ALTER TABLE menu_items RENAME CONSTRAINT menu_items_partitioned_pkey TO menu_items_pkey;
+
+-- Created after the copy; indexes on the parent are created on every partition
+CREATE INDEX idx_menu_items_scraped_at_id ON menu_items (scraped_at DESC, id DESC);
+CREATE INDEX idx_menu_items_name_trgm ON menu_items USING gin (name gin_trgm_ops);
+CREATE INDEX idx_menu_items_description_trgm ON menu_items USING gin (description gin_trgm_ops);
+
+ANALYZE menu_items;
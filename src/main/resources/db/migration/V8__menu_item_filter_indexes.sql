@@ -0,0 +1,7 @@
+-- Backs the restaurant and source_url filters (joined through restaurant_id) including their
+-- newest-first ordering and scraped_at bounds; also indexes the foreign key
+CREATE INDEX IF NOT EXISTS idx_menu_items_restaurant_scraped_at
+    ON menu_items (restaurant_id, scraped_at DESC, id DESC);
+
+-- Backs the currency filter and price ranges, which always come with a currency
+CREATE INDEX IF NOT EXISTS idx_menu_items_currency_price ON menu_items (currency, price);
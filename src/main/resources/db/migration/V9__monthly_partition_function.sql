@@ -0,0 +1,54 @@
+-- Creates the monthly partition of a table partitioned by month (named <table>_YYYY_MM, with
+-- a <table>_default partition), unless it exists. Rows of that month that already sit in the
+-- default partition are moved into the new partition in the same transaction; a plain
+-- CREATE TABLE ... PARTITION OF fails for as long as the default partition holds them.
+CREATE FUNCTION create_monthly_partition(p_table TEXT, p_key_column TEXT, p_month DATE)
+RETURNS VOID AS $$
+DECLARE
+    month_start       DATE := date_trunc('month', p_month)::date;
+    month_end         DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::date;
+    partition_name    TEXT := p_table || '_' || to_char(p_month, 'YYYY_MM');
+    default_partition TEXT := p_table || '_default';
+    moved             BIGINT := 0;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    IF to_regclass(default_partition) IS NOT NULL THEN
+        -- Concurrent inserts into the default partition wait until the partition exists
+        EXECUTE format('LOCK TABLE %I IN SHARE ROW EXCLUSIVE MODE', default_partition);
+        EXECUTE format('CREATE TEMP TABLE monthly_partition_rows (LIKE %I)', p_table);
+        EXECUTE format('WITH moved AS (DELETE FROM %I WHERE %I >= %L AND %I < %L RETURNING *) '
+                       'INSERT INTO monthly_partition_rows SELECT * FROM moved',
+                       default_partition, p_key_column, month_start, p_key_column, month_end);
+        GET DIAGNOSTICS moved = ROW_COUNT;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, p_table, month_start, month_end);
+
+    IF to_regclass(default_partition) IS NOT NULL THEN
+        IF moved > 0 THEN
+            EXECUTE format('INSERT INTO %I SELECT * FROM monthly_partition_rows', p_table);
+        END IF;
+        DROP TABLE monthly_partition_rows;
+    END IF;
+END
+$$ LANGUAGE plpgsql;
+
+-- V5 only created the default partition of price_observations: create the months it already
+-- holds rows for, and the current month up to three months ahead like V7 does for menu_items
+DO $$
+DECLARE
+    m DATE;
+BEGIN
+    FOR m IN
+        SELECT DISTINCT date_trunc('month', observed_at)::date FROM price_observations_default
+        UNION
+        SELECT (date_trunc('month', now()) + n * INTERVAL '1 month')::date FROM generate_series(0, 3) AS n
+        ORDER BY 1
+    LOOP
+        PERFORM create_monthly_partition('price_observations', 'observed_at', m);
+    END LOOP;
+END $$;
@@ -0,0 +1,91 @@
+package com.taskflow.menuscraper.config;
+
+import com.taskflow.menuscraper.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compressed bodies are cut off once they decode to more than the configured size, however
+// small they are on the wire
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "menu-scraper.compression.max-decoded-request-bytes=4096")
+class ContentEncodingFilterTest extends PostgresIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void acceptsBodiesWithinTheLimit() throws Exception {
+        HttpResponse<String> response = post("/api/menu-items/batch", "application/json", batch(5));
+
+        assertEquals(200, response.statusCode());
+    }
+
+    @Test
+    void rejectsBatchesThatDecodeTooLarge() throws Exception {
+        byte[] body = batch(200);
+        HttpResponse<String> response = post("/api/menu-items/batch", "application/json", body);
+
+        assertTrue(gzip(body).length < 4096);
+        assertEquals(413, response.statusCode());
+        assertTrue(response.body().contains("Payload too large"));
+    }
+
+    @Test
+    void rejectsStreamsThatDecodeTooLarge() throws Exception {
+        StringBuilder records = new StringBuilder();
+        String sourceUrl = "https://encoding-" + UUID.randomUUID() + ".example.com/menu";
+        for (int i = 0; i < 200; i++) {
+            records.append(item(sourceUrl, i)).append('\n');
+        }
+        HttpResponse<String> response = post("/api/menu-items/stream", "application/x-ndjson",
+                records.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(413, response.statusCode());
+    }
+
+    private HttpResponse<String> post(String path, String contentType, byte[] body) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", contentType)
+                .header("Content-Encoding", "gzip")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(gzip(body)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static byte[] batch(int items) {
+        String sourceUrl = "https://encoding-" + UUID.randomUUID() + ".example.com/menu";
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < items; i++) {
+            json.append(i == 0 ? "" : ",").append(item(sourceUrl, i));
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String item(String sourceUrl, int i) {
+        return "{\"restaurant_name\":\"Encoding Test\",\"source_url\":\"" + sourceUrl + "\"," +
+                "\"name\":\"Dish " + i + "\",\"price\":9.50,\"currency\":\"EUR\"}";
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
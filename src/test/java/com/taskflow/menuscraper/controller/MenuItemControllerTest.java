@@ -0,0 +1,56 @@
+package com.taskflow.menuscraper.controller;
+
+import com.taskflow.menuscraper.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// An invalid item rejects a whole batch as a client error, in both ingest modes
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MenuItemControllerTest extends PostgresIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void invalidBatchIsRejectedWith400() throws Exception {
+        HttpResponse<String> response = postBatch("append", "QQQ");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("Validation failed"));
+        assertTrue(response.body().contains("Invalid currency code: QQQ"));
+    }
+
+    @Test
+    void invalidUpsertBatchIsRejectedWith400() throws Exception {
+        HttpResponse<String> response = postBatch("upsert", "QQQ");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("Invalid currency code: QQQ"));
+    }
+
+    private HttpResponse<String> postBatch(String mode, String currency) throws Exception {
+        String sourceUrl = "https://controller-" + UUID.randomUUID() + ".example.com/menu";
+        String body = "{\"items\":[" +
+                "{\"restaurant_name\":\"Controller Test\",\"source_url\":\"" + sourceUrl + "\"," +
+                "\"name\":\"Margherita\",\"price\":9.50,\"currency\":\"EUR\"}," +
+                "{\"restaurant_name\":\"Controller Test\",\"source_url\":\"" + sourceUrl + "\"," +
+                "\"name\":\"Marinara\",\"price\":8.00,\"currency\":\"" + currency + "\"}]}";
+        return client.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/menu-items/batch?mode=" + mode))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
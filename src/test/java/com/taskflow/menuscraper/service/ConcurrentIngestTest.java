@@ -0,0 +1,101 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.PostgresIntegrationTest;
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Scrapers that post batches for the same new restaurants at the same moment, each listing
+// them in a different order, neither deadlock nor fail on creating the restaurants or their
+// item keys
+@SpringBootTest
+class ConcurrentIngestTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 10;
+    private static final int RESTAURANTS = 5;
+    private static final int ITEMS_PER_RESTAURANT = 20;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sharedRestaurantsIngestWithoutAborts() throws Exception {
+        String prefix = "https://concurrent-" + UUID.randomUUID() + "-";
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> scrapers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                scrapers.add(executor.submit(() -> {
+                    for (int round = 0; round < ROUNDS; round++) {
+                        List<MenuItemRequest> batch = batch(prefix + round + "-", round);
+                        Collections.rotate(batch, thread * ITEMS_PER_RESTAURANT);
+                        barrier.await();
+                        // Half of the scrapers upsert, so item keys are contended as well
+                        if (thread % 2 == 0) {
+                            menuItemService.upsertBatch(batch);
+                        } else {
+                            menuItemService.saveBatch(batch);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            // Rethrows the first failed batch
+            for (Future<?> scraper : scrapers) {
+                scraper.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String like = prefix.replace("_", "\\_") + "%";
+        assertEquals(ROUNDS * RESTAURANTS, count(
+                "SELECT count(*) FROM restaurants WHERE source_url LIKE ?", like));
+        assertEquals(ROUNDS * RESTAURANTS * ITEMS_PER_RESTAURANT, count(
+                "SELECT count(*) FROM menu_item_keys k JOIN restaurants r ON r.id = k.restaurant_id " +
+                "WHERE r.source_url LIKE ?", like));
+        assertEquals(ROUNDS * RESTAURANTS, count(
+                "SELECT count(*) FROM restaurant_snapshots s JOIN restaurants r ON r.id = s.restaurant_id " +
+                "WHERE r.source_url LIKE ? AND s.item_count = " + ITEMS_PER_RESTAURANT, like));
+    }
+
+    private int count(String sql, String like) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, like);
+    }
+
+    private static List<MenuItemRequest> batch(String prefix, int round) {
+        List<MenuItemRequest> batch = new ArrayList<>();
+        for (int r = 0; r < RESTAURANTS; r++) {
+            for (int i = 0; i < ITEMS_PER_RESTAURANT; i++) {
+                MenuItemRequest item = new MenuItemRequest();
+                item.setRestaurantName("Concurrent Test " + r);
+                item.setSourceUrl(prefix + r + ".example.com/menu");
+                item.setName("Dish " + i);
+                item.setPrice(new BigDecimal(5 + round + i));
+                item.setCurrency("EUR");
+                batch.add(item);
+            }
+        }
+        return batch;
+    }
+}
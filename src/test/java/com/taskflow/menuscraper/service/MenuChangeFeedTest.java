@@ -0,0 +1,170 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.PostgresIntegrationTest;
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The change feed keeps the last `capacity` changes: readers that fall further behind, or
+// resume from an evicted event ID, skip ahead and are told how much they missed, and a
+// subscriber that goes away is cleaned up
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"menu-scraper.change-feed.capacity=4", "menu-scraper.change-feed.heartbeat-ms=200"})
+class MenuChangeFeedTest extends PostgresIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MenuChangeFeed menuChangeFeed;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void ringDropsTheOldestChanges() throws Exception {
+        long start = menuChangeFeed.read(0, 100, 0).last();
+        String sourceUrl = sourceUrl();
+        menuItemService.saveBatch(items(sourceUrl, 6));
+
+        MenuChangeFeed.Batch batch = menuChangeFeed.read(start, 100, 0);
+
+        assertEquals(2, batch.missed());
+        assertEquals(start + 6, batch.last());
+        List<String> names = new ArrayList<>();
+        batch.changes().forEach(change -> names.add(change.getItem().getName()));
+        assertEquals(List.of("Dish 2", "Dish 3", "Dish 4", "Dish 5"), names);
+        assertEquals(start + 3, batch.changes().get(0).getSequence());
+    }
+
+    @Test
+    void resumingAfterEvictionReportsTheGap() {
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            String sourceUrl = sourceUrl();
+            String lastEventId;
+            try (Stream<String> lines = subscribe(sourceUrl, null)) {
+                menuItemService.saveBatch(items(sourceUrl, 1));
+                Map<String, String> event = nextEvent(lines.iterator());
+                assertEquals("menu-item", event.get("event"));
+                lastEventId = event.get("id");
+            }
+
+            menuItemService.saveBatch(items(sourceUrl, 6));
+
+            try (Stream<String> lines = subscribe(sourceUrl, lastEventId)) {
+                Iterator<String> iterator = lines.iterator();
+                Map<String, String> gap = nextEvent(iterator);
+                assertEquals("gap", gap.get("event"));
+                assertEquals("{\"missed\":2}", gap.get("data"));
+
+                String feedId = lastEventId.substring(0, lastEventId.lastIndexOf('-'));
+                long sequence = Long.parseLong(lastEventId.substring(feedId.length() + 1));
+                for (int i = 3; i <= 6; i++) {
+                    Map<String, String> event = nextEvent(iterator);
+                    assertEquals(feedId + "-" + (sequence + i), event.get("id"));
+                    assertTrue(event.get("data").contains("\"Dish " + (i - 1) + "\""), event.get("data"));
+                }
+            }
+        });
+    }
+
+    @Test
+    void disconnectedSubscribersAreRemoved() {
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            double before = subscribers();
+            try (Stream<String> lines = subscribe(sourceUrl(), null)) {
+                awaitSubscribers(before + 1);
+                // The first heartbeat shows the stream is running
+                assertTrue(lines.iterator().next().startsWith(":"));
+            }
+            // Noticed by the next heartbeat that fails to write
+            awaitSubscribers(before);
+        });
+    }
+
+    private Stream<String> subscribe(String sourceUrl, String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                + "/api/menu-items/changes?source_url=" + URLEncoder.encode(sourceUrl, StandardCharsets.UTF_8)));
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        return response.body();
+    }
+
+    // Fields of the next event, skipping heartbeat comments
+    private static Map<String, String> nextEvent(Iterator<String> lines) {
+        Map<String, String> event = new HashMap<>();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                if (!event.isEmpty()) {
+                    return event;
+                }
+            } else if (!line.startsWith(":")) {
+                int colon = line.indexOf(':');
+                event.merge(line.substring(0, colon), line.substring(colon + 1), (a, b) -> a + "\n" + b);
+            }
+        }
+        throw new AssertionError("Stream ended");
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("change.feed.subscribers").gauge().value();
+    }
+
+    private void awaitSubscribers(double expected) throws InterruptedException {
+        while (subscribers() != expected) {
+            Thread.sleep(50);
+        }
+    }
+
+    private static String sourceUrl() {
+        return "https://feed-" + UUID.randomUUID() + ".example.com/menu";
+    }
+
+    private static List<MenuItemRequest> items(String sourceUrl, int count) {
+        List<MenuItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            MenuItemRequest item = new MenuItemRequest();
+            item.setRestaurantName("Feed Test");
+            item.setSourceUrl(sourceUrl);
+            item.setName("Dish " + i);
+            item.setPrice(new BigDecimal("10.00"));
+            item.setCurrency("EUR");
+            items.add(item);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,104 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.PostgresIntegrationTest;
+import com.taskflow.menuscraper.dto.MenuItemPageResponse;
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import com.taskflow.menuscraper.entity.MenuItem;
+import com.taskflow.menuscraper.repository.MenuItemFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Menu item reads project straight into MenuItemResponse: one statement per query no matter
+// how many restaurants the items belong to, where loading entities costs one more statement
+// per restaurant
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class MenuItemReadStatementsTest extends PostgresIntegrationTest {
+
+    private static final int RESTAURANTS = 20;
+    private static final int ITEMS = 200;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String restaurantName;
+    private Statistics statistics;
+
+    @BeforeEach
+    void saveItems() {
+        restaurantName = "statements-" + UUID.randomUUID();
+        List<MenuItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            MenuItemRequest item = new MenuItemRequest();
+            item.setRestaurantName(restaurantName);
+            item.setSourceUrl("https://" + restaurantName + "-" + (i % RESTAURANTS) + ".example.com/menu");
+            item.setName("Dish " + i);
+            item.setPrice(new BigDecimal("9.50"));
+            item.setCurrency("EUR");
+            items.add(item);
+        }
+        menuItemService.saveBatch(items);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listQueryIsOneStatement() {
+        MenuItemPageResponse page = menuItemService.getMenuItems(filter(restaurantName, null));
+
+        assertEquals(ITEMS, page.getItems().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void pagesAreOneStatementEach() {
+        MenuItemPageResponse first = menuItemService.getMenuItemPage(filter(restaurantName, null), null, 50);
+        menuItemService.getMenuItemPage(filter(restaurantName, null), first.getNextCursor(), 50);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    // What the reads cost before they were projections: the items, then each restaurant
+    @Test
+    void loadingEntitiesCostsOneStatementPerRestaurant() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<MenuItem> items = entityManager.createQuery(
+                            "SELECT m FROM MenuItem m WHERE m.restaurant.name = :name", MenuItem.class)
+                    .setParameter("name", restaurantName)
+                    .getResultList();
+            items.forEach(item -> item.getRestaurant().getName());
+        });
+
+        assertEquals(1 + RESTAURANTS, statistics.getPrepareStatementCount());
+    }
+
+    private static MenuItemFilter filter(String restaurantName, String sourceUrl) {
+        return MenuItemFilter.of(restaurantName, sourceUrl, null, null, null, null, null);
+    }
+}
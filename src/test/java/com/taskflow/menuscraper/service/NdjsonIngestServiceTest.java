@@ -0,0 +1,78 @@
+package com.taskflow.menuscraper.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflow.menuscraper.PostgresIntegrationTest;
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import com.taskflow.menuscraper.dto.NdjsonIngestResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// An upload is committed chunk by chunk up to its first bad record, and its chunks make up
+// one scrape, so together they replace the restaurant's snapshot menu
+@SpringBootTest(properties = "menu-scraper.ingest.ndjson-chunk-size=2")
+class NdjsonIngestServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private NdjsonIngestService ndjsonIngestService;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantSnapshotService restaurantSnapshotService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void commitsChunksUpToTheMalformedLine() throws Exception {
+        String sourceUrl = "https://ndjson-" + UUID.randomUUID() + ".example.com/menu";
+        menuItemService.saveBatch(List.of(item(sourceUrl, "Old Special")));
+
+        StringBuilder body = new StringBuilder();
+        for (String name : List.of("Calzone", "Diavola", "Margherita", "Marinara", "Quattro Formaggi")) {
+            body.append(objectMapper.writeValueAsString(item(sourceUrl, name))).append('\n');
+        }
+        body.append("{\"restaurant_name\": \"NDJSON Test\", \"name\": }\n");
+        body.append(objectMapper.writeValueAsString(item(sourceUrl, "Capricciosa"))).append('\n');
+
+        NdjsonIngestResponse response = ndjsonIngestService.ingest(
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(6L, response.getFailedRecord());
+        assertTrue(response.getError().startsWith("Validation failed: "), response.getError());
+        assertEquals(5, response.getRecordsRead());
+        assertEquals(5, response.getSavedCount());
+        List<Integer> chunkSizes = new ArrayList<>();
+        response.getChunks().forEach(chunk -> chunkSizes.add(chunk.getRecords()));
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+
+        // Each chunk added to the snapshot; only the earlier scrape's item was replaced
+        JsonNode snapshot = objectMapper.readTree(restaurantSnapshotService.getSnapshotJson(sourceUrl).orElseThrow());
+        List<String> names = new ArrayList<>();
+        snapshot.path("menu").forEach(item -> names.add(item.path("name").asText()));
+        assertEquals(List.of("Calzone", "Diavola", "Margherita", "Marinara", "Quattro Formaggi"), names);
+    }
+
+    private static MenuItemRequest item(String sourceUrl, String name) {
+        MenuItemRequest item = new MenuItemRequest();
+        item.setRestaurantName("NDJSON Test");
+        item.setSourceUrl(sourceUrl);
+        item.setName(name);
+        item.setPrice(new BigDecimal("10.00"));
+        item.setCurrency("EUR");
+        return item;
+    }
+}
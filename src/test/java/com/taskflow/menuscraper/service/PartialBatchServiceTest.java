@@ -0,0 +1,81 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.PostgresIntegrationTest;
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import com.taskflow.menuscraper.dto.PartialBatchResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A mixed batch stores its valid items, in several chunks, and reports each invalid one by
+// its position in the request
+@SpringBootTest(properties = "menu-scraper.ingest.partial.chunk-size=2")
+class PartialBatchServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PartialBatchService partialBatchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void storesValidItemsAndReportsInvalidOnes() {
+        String sourceUrl = "https://partial-" + UUID.randomUUID() + ".example.com/menu";
+        List<MenuItemRequest> items = List.of(
+                item(sourceUrl, "Margherita", "9.50", "EUR"),
+                item(sourceUrl, "Marinara", "8.00", "QQQ"),
+                item(sourceUrl, "Calzone", "12.00", "EUR"),
+                item(sourceUrl, "Diavola", "11.00", "eur"),
+                item(sourceUrl, "Quattro Formaggi", "-1.00", "EUR"),
+                item(sourceUrl, "Capricciosa", "10.50", "EUR"));
+        double rejectedBefore = rejected("validation");
+
+        PartialBatchResponse response = partialBatchService.save(items, IngestMode.APPEND);
+
+        assertEquals(6, response.getTotalRequested());
+        assertEquals(4, response.getSavedCount());
+        assertEquals(2, response.getRejectedCount());
+        List<Integer> indexes = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        for (PartialBatchResponse.ItemError error : response.getErrors()) {
+            indexes.add(error.getIndex());
+            messages.add(error.getMessage());
+        }
+        assertEquals(List.of(1, 4), indexes);
+        assertEquals(List.of("Invalid currency code: QQQ",
+                "validateMenuItem.request.price: Price must be non-negative"), messages);
+
+        assertEquals(List.of("Calzone", "Capricciosa", "Diavola", "Margherita"), jdbcTemplate.queryForList(
+                "SELECT m.name FROM menu_items m JOIN restaurants r ON r.id = m.restaurant_id " +
+                "WHERE r.source_url = ? ORDER BY m.name", String.class, sourceUrl));
+        assertEquals(2.0, rejected("validation") - rejectedBefore);
+    }
+
+    private double rejected(String reason) {
+        Counter counter = meterRegistry.find("ingest.rejected").tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static MenuItemRequest item(String sourceUrl, String name, String price, String currency) {
+        MenuItemRequest item = new MenuItemRequest();
+        item.setRestaurantName("Partial Test");
+        item.setSourceUrl(sourceUrl);
+        item.setName(name);
+        item.setPrice(new BigDecimal(price));
+        item.setCurrency(currency);
+        return item;
+    }
+}
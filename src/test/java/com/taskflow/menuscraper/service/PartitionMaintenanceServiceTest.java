@@ -0,0 +1,48 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A month whose rows already landed in the default partition still gets its partition, and
+// the rows end up in it
+@SpringBootTest(properties = "menu-scraper.partitions.months-ahead=8")
+class PartitionMaintenanceServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesStragglersOutOfTheDefaultPartition() {
+        YearMonth month = YearMonth.now().plusMonths(8);
+        String partition = "price_observations_" + month.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+        // Created when the application started; start over as if it had never been
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+
+        UUID restaurantId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO price_observations (menu_item_id, restaurant_id, price, currency, observed_at) " +
+                "VALUES (?, ?, 9.50, 'EUR', ?)", UUID.randomUUID(), restaurantId, month.atDay(15).atStartOfDay());
+        assertEquals("price_observations_default", partitionOf(restaurantId));
+
+        partitionMaintenanceService.createUpcomingPartitions();
+
+        assertEquals(partition, partitionOf(restaurantId));
+    }
+
+    private String partitionOf(UUID restaurantId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM price_observations WHERE restaurant_id = ?",
+                String.class, restaurantId);
+    }
+}
@@ -0,0 +1,66 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.PostgresIntegrationTest;
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import com.taskflow.menuscraper.dto.PriceHistoryResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Append mode writes a new menu_items row on every scrape; an item's price history still
+// covers all of them
+@SpringBootTest
+class PriceHistoryServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void itemHistorySpansAppendModeScrapes() {
+        String sourceUrl = "https://history-" + UUID.randomUUID() + ".example.com/menu";
+        menuItemService.saveBatch(List.of(item(sourceUrl, "Margherita", "9.50"), item(sourceUrl, "Marinara", "8.00")));
+        menuItemService.saveBatch(List.of(item(sourceUrl, " margherita ", "10.50"), item(sourceUrl, "Marinara", "8.00")));
+
+        List<UUID> margheritaIds = jdbcTemplate.queryForList(
+                "SELECT m.id FROM menu_items m JOIN restaurants r ON r.id = m.restaurant_id " +
+                "WHERE r.source_url = ? AND lower(btrim(m.name)) = 'margherita'", UUID.class, sourceUrl);
+        assertEquals(2, margheritaIds.size());
+
+        PriceHistoryResponse byName = history(null, sourceUrl, "MARGHERITA");
+        assertEquals(List.of(new BigDecimal("9.50"), new BigDecimal("10.50")),
+                byName.getObservations().stream().map(PriceHistoryResponse.Observation::getPrice).toList());
+        for (UUID id : margheritaIds) {
+            assertEquals(2, history(id, null, null).getObservations().size());
+        }
+        assertEquals(4, history(null, sourceUrl, null).getObservations().size());
+    }
+
+    private PriceHistoryResponse history(UUID menuItemId, String sourceUrl, String item) {
+        return priceHistoryService.getPriceHistory(menuItemId, sourceUrl, item,
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1), null).orElseThrow();
+    }
+
+    private static MenuItemRequest item(String sourceUrl, String name, String price) {
+        MenuItemRequest item = new MenuItemRequest();
+        item.setRestaurantName("History Test");
+        item.setSourceUrl(sourceUrl);
+        item.setName(name);
+        item.setPrice(new BigDecimal(price));
+        item.setCurrency("EUR");
+        return item;
+    }
+}
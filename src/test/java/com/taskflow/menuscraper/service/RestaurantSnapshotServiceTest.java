@@ -0,0 +1,100 @@
+package com.taskflow.menuscraper.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflow.menuscraper.PostgresIntegrationTest;
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A restaurant's snapshot follows its latest scrape: items it no longer lists are dropped
+// and the aggregates are recomputed, while the chunks of one upload add up
+@SpringBootTest(properties = "menu-scraper.ingest.partial.chunk-size=2")
+class RestaurantSnapshotServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private PartialBatchService partialBatchService;
+
+    @Autowired
+    private RestaurantSnapshotService restaurantSnapshotService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void newScrapeDropsItemsNoLongerListed() throws Exception {
+        String sourceUrl = sourceUrl();
+        menuItemService.saveBatch(List.of(item(sourceUrl, "Margherita", "9.50"),
+                item(sourceUrl, "Marinara", "8.00"), item(sourceUrl, "Calzone", "12.00")));
+        assertEquals(List.of("Calzone", "Margherita", "Marinara"), names(snapshot(sourceUrl)));
+
+        menuItemService.saveBatch(List.of(item(sourceUrl, "Margherita", "9.50"), item(sourceUrl, "Marinara", "8.00")));
+
+        JsonNode snapshot = snapshot(sourceUrl);
+        assertEquals(List.of("Margherita", "Marinara"), names(snapshot));
+        assertEquals(2, snapshot.path("item_count").asInt());
+        assertEquals(9.5, snapshot.path("price_stats").path("EUR").path("max_price").asDouble());
+        assertEquals(8.75, snapshot.path("price_stats").path("EUR").path("median_price").asDouble());
+    }
+
+    @Test
+    void unchangedUpsertItemsStay() throws Exception {
+        String sourceUrl = sourceUrl();
+        menuItemService.upsertBatch(List.of(item(sourceUrl, "Margherita", "9.50"), item(sourceUrl, "Marinara", "8.00")));
+
+        // Nothing changed, but Marinara is gone from the menu
+        menuItemService.upsertBatch(List.of(item(sourceUrl, "Margherita", "9.50")));
+
+        assertEquals(List.of("Margherita"), names(snapshot(sourceUrl)));
+    }
+
+    @Test
+    void chunksOfOneUploadAddUp() throws Exception {
+        String sourceUrl = sourceUrl();
+        menuItemService.saveBatch(List.of(item(sourceUrl, "Old Special", "15.00")));
+
+        List<MenuItemRequest> items = new ArrayList<>();
+        for (String name : List.of("Calzone", "Margherita", "Marinara", "Quattro Formaggi", "Diavola")) {
+            items.add(item(sourceUrl, name, "10.00"));
+        }
+        partialBatchService.save(items, IngestMode.APPEND);
+
+        assertEquals(List.of("Calzone", "Diavola", "Margherita", "Marinara", "Quattro Formaggi"),
+                names(snapshot(sourceUrl)));
+    }
+
+    private JsonNode snapshot(String sourceUrl) throws Exception {
+        return objectMapper.readTree(restaurantSnapshotService.getSnapshotJson(sourceUrl).orElseThrow());
+    }
+
+    private static List<String> names(JsonNode snapshot) {
+        List<String> names = new ArrayList<>();
+        snapshot.path("menu").forEach(item -> names.add(item.path("name").asText()));
+        return names;
+    }
+
+    private static String sourceUrl() {
+        return "https://snapshot-" + UUID.randomUUID() + ".example.com/menu";
+    }
+
+    private static MenuItemRequest item(String sourceUrl, String name, String price) {
+        MenuItemRequest item = new MenuItemRequest();
+        item.setRestaurantName("Snapshot Test");
+        item.setSourceUrl(sourceUrl);
+        item.setName(name);
+        item.setPrice(new BigDecimal(price));
+        item.setCurrency("EUR");
+        return item;
+    }
+}
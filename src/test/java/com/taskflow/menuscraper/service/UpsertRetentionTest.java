@@ -0,0 +1,106 @@
+package com.taskflow.menuscraper.service;
+
+import com.taskflow.menuscraper.PostgresIntegrationTest;
+import com.taskflow.menuscraper.dto.MenuItemRequest;
+import com.taskflow.menuscraper.dto.UpsertBatchResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Upsert mode against retention: unchanged items about to be retired move up to the current
+// scrape, other unchanged items are not written, and items whose row was retired after their
+// key was read are written again
+@SpringBootTest(properties = "menu-scraper.partitions.menu-items.retention-months=1")
+class UpsertRetentionTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void unchangedItemsAreRefreshed() {
+        String sourceUrl = sourceUrl();
+        menuItemService.upsertBatch(List.of(item(sourceUrl, "Margherita", "9.50"), item(sourceUrl, "Marinara", "8.00")));
+        jdbcTemplate.update("UPDATE menu_items SET scraped_at = scraped_at - interval '6 months' " +
+                "WHERE restaurant_id = (SELECT id FROM restaurants WHERE source_url = ?)", sourceUrl);
+
+        LocalDateTime before = LocalDateTime.now().minusMinutes(1);
+        UpsertBatchResult result = menuItemService.upsertBatch(
+                List.of(item(sourceUrl, "Margherita", "9.50"), item(sourceUrl, "Marinara", "8.00")));
+
+        assertEquals(2, result.getUnchangedCount());
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT min(m.scraped_at) FROM menu_items m " +
+                "JOIN restaurants r ON r.id = m.restaurant_id WHERE r.source_url = ?", Timestamp.class, sourceUrl);
+        assertTrue(oldest.toLocalDateTime().isAfter(before), "scraped_at not refreshed: " + oldest);
+    }
+
+    @Test
+    void recentUnchangedItemsAreNotWritten() {
+        String sourceUrl = sourceUrl();
+        List<MenuItemRequest> items = List.of(item(sourceUrl, "Margherita", "9.50"), item(sourceUrl, "Marinara", "8.00"));
+        menuItemService.upsertBatch(items);
+        List<String> before = rowVersions(sourceUrl);
+
+        UpsertBatchResult result = menuItemService.upsertBatch(items);
+
+        assertEquals(2, result.getUnchangedCount());
+        assertEquals(before, rowVersions(sourceUrl));
+    }
+
+    @Test
+    void retiredRowsAreWrittenAgain() {
+        String sourceUrl = sourceUrl();
+        menuItemService.upsertBatch(List.of(item(sourceUrl, "Margherita", "9.50"), item(sourceUrl, "Marinara", "8.00")));
+        // What retention leaves behind between detaching a partition and deleting its keys
+        jdbcTemplate.update("DELETE FROM menu_items WHERE restaurant_id = " +
+                "(SELECT id FROM restaurants WHERE source_url = ?)", sourceUrl);
+
+        // Margherita changed and goes through the update, Marinara through the refresh
+        UpsertBatchResult result = menuItemService.upsertBatch(
+                List.of(item(sourceUrl, "Margherita", "10.50"), item(sourceUrl, "Marinara", "8.00")));
+
+        assertEquals(2, result.getInsertedCount());
+        assertEquals(0, result.getUpdatedCount());
+        Integer linked = jdbcTemplate.queryForObject("SELECT count(*) FROM menu_item_keys k " +
+                "JOIN menu_items m ON m.id = k.menu_item_id JOIN restaurants r ON r.id = k.restaurant_id " +
+                "WHERE r.source_url = ?", Integer.class, sourceUrl);
+        assertEquals(2, linked);
+        BigDecimal price = jdbcTemplate.queryForObject("SELECT m.price FROM menu_items m " +
+                "JOIN restaurants r ON r.id = m.restaurant_id WHERE r.source_url = ? AND m.name = 'Margherita'",
+                BigDecimal.class, sourceUrl);
+        assertEquals(0, new BigDecimal("10.50").compareTo(price));
+    }
+
+    // A row's version changes with every write, even one that sets the same values
+    private List<String> rowVersions(String sourceUrl) {
+        return jdbcTemplate.queryForList("SELECT m.xmin::text || ':' || m.scraped_at FROM menu_items m " +
+                "JOIN restaurants r ON r.id = m.restaurant_id WHERE r.source_url = ? ORDER BY m.name",
+                String.class, sourceUrl);
+    }
+
+    private static String sourceUrl() {
+        return "https://retention-" + UUID.randomUUID() + ".example.com/menu";
+    }
+
+    private static MenuItemRequest item(String sourceUrl, String name, String price) {
+        MenuItemRequest item = new MenuItemRequest();
+        item.setRestaurantName("Retention Test");
+        item.setSourceUrl(sourceUrl);
+        item.setName(name);
+        item.setPrice(new BigDecimal(price));
+        item.setCurrency("EUR");
+        return item;
+    }
+}